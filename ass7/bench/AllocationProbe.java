@@ -0,0 +1,85 @@
+import animations.GameLevel;
+import headless.BotKeyboard;
+import headless.HeadlessEngine;
+import headless.NullDrawSurface;
+import interfaces.LevelInformation;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * The Allocation probe.
+ * It plays every level of a levels definitions file by the bot, and measures the bytes the game's tick
+ * allocates, by the thread allocation counter of the JVM. After a warm up, a tick in which no block, ball
+ * or life was lost should allocate nothing, and the probe exits with an error if one did.
+ * The tick after a loss is skipped too, since the copies of the changed collections are made in it.
+ * With "autopilot" after the path, the paddle is played by the autopilot instead of the bot.
+ * Run it by "make probe", which runs it by the interpreter: there an allocation can't be hidden by the
+ * escape analysis of the JIT, and no allocation is added by its deoptimizations.
+ */
+public class AllocationProbe {
+    private static final int WARM_UP = 1000;
+    private static final int TICKS = 20000;
+
+    /**
+     * The main method.
+     *
+     * @param args the path of the levels definitions file, and "autopilot" to play by the autopilot.
+     */
+    public static void main(String[] args) {
+        String path = args.length > 0 ? args[0] : "definitions/hard_level_definitions.txt";
+        boolean autopilot = args.length > 1 && "autopilot".equals(args[1]);
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        // the counter's own cost is measured, and taken off every measure.
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            long before = bean.getThreadAllocatedBytes(thread);
+            overhead = Math.min(overhead, bean.getThreadAllocatedBytes(thread) - before);
+        }
+        boolean failed = false;
+        for (LevelInformation info : HeadlessEngine.readLevels(path)) {
+            BotKeyboard bot = new BotKeyboard(1);
+            HeadlessEngine engine = new HeadlessEngine(info, bot, new NullDrawSurface(800, 600));
+            engine.setRender(false);
+            bot.setLevel(engine.getLevel());
+            GameLevel level = engine.getLevel();
+            level.setAutopilot(autopilot);
+            long steadyBytes = 0;
+            int steadyTicks = 0;
+            int allocatingTicks = 0;
+            int lastLoss = 0;
+            for (int i = 0; i < WARM_UP + TICKS && !engine.isOver(); i++) {
+                if (i < WARM_UP || level.shouldStop() || engine.getFrames() == 0) {
+                    // the turns are started, and the level is warmed up, by the engine.
+                    engine.step();
+                    lastLoss = i;
+                    continue;
+                }
+                int blocks = engine.getBlocks();
+                int balls = level.getBallSystem().size();
+                long before = bean.getThreadAllocatedBytes(thread);
+                level.tick();
+                long bytes = bean.getThreadAllocatedBytes(thread) - before - overhead;
+                if (blocks != engine.getBlocks() || balls != level.getBallSystem().size()) {
+                    lastLoss = i;
+                    continue;
+                }
+                if (i == lastLoss + 1) {
+                    continue;
+                }
+                steadyTicks++;
+                steadyBytes += Math.max(0, bytes);
+                if (bytes > 0) {
+                    allocatingTicks++;
+                }
+            }
+            System.out.printf("%s: %d steady ticks, %d allocated, %.2f bytes per tick%n", info.levelName(),
+                    steadyTicks, allocatingTicks, steadyTicks == 0 ? 0.0 : (double) steadyBytes / steadyTicks);
+            failed |= allocatingTicks > 0;
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+}
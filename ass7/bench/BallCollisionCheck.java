@@ -0,0 +1,52 @@
+import collections.GameEnvironment;
+import general.Velocity;
+import sprites.Ball;
+import sprites.BallSystem;
+
+import java.awt.Color;
+
+/**
+ * The Ball collision check.
+ * It sets two balls on a head-on path in an empty environment, and steps them until they would have passed
+ * each other. With the ball collisions on, each ball should be turned back by the other before they cross,
+ * and with them off the balls should pass through each other. The check exits with an error if either fails.
+ * Run it by "make collide".
+ */
+public class BallCollisionCheck {
+    private static final int WIDTH = 800;
+    private static final int SIDE = 25;
+    private static final int RADIUS = 8;
+    private static final int TICKS = 60;
+
+    /**
+     * The main method.
+     *
+     * @param args not used.
+     */
+    public static void main(String[] args) {
+        boolean bounced = bounces(true);
+        boolean passed = !bounces(false);
+        System.out.println("with ball collisions: " + (bounced ? "bounced" : "passed through"));
+        System.out.println("without ball collisions: " + (passed ? "passed through" : "bounced"));
+        if (!bounced || !passed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Steps two balls which move towards each other, on the same line.
+     *
+     * @param collide true for balls which bounce off each other.
+     * @return true if the balls turned back without crossing each other, and false otherwise.
+     */
+    private static boolean bounces(boolean collide) {
+        BallSystem balls = new BallSystem(new GameEnvironment(), WIDTH, SIDE);
+        balls.setBallCollisions(collide, RADIUS);
+        Ball left = balls.add(300, 300, RADIUS, Color.WHITE, new Velocity(3, 0));
+        Ball right = balls.add(400, 300, RADIUS, Color.WHITE, new Velocity(-3, 0));
+        for (int i = 0; i < TICKS; i++) {
+            balls.timePassed();
+        }
+        return left.getCenterX() < right.getCenterX() && left.getDx() < 0 && right.getDx() > 0;
+    }
+}
@@ -0,0 +1,86 @@
+import collections.GameEnvironment;
+import geometry.SegmentHit;
+import headless.HeadlessEngine;
+import interfaces.Collidable;
+import interfaces.LevelInformation;
+
+import java.util.Random;
+
+/**
+ * The Collision mode benchmark.
+ * It builds every level of a levels definitions file, and times the game environment's search for the closest
+ * collision in the linear mode, which checks every collidable, against the tree mode, which searches the
+ * bounding volume hierarchy. Each mode searches the same rays: short ones, as long as a ball's step, and long
+ * ones, as the autopilot's forecasts. The hits each mode found are printed too, so the modes can be checked to
+ * agree.
+ * Run it by "make bench-modes".
+ */
+public class CollisionModeBenchmark {
+    private static final int ROUNDS = 5;
+    private static final int RAYS = 20000;
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+    private static final GameEnvironment.Mode[] MODES = {GameEnvironment.Mode.LINEAR, GameEnvironment.Mode.TREE};
+
+    /**
+     * The main method.
+     *
+     * @param args the path of the levels definitions file.
+     */
+    public static void main(String[] args) {
+        String path = args.length > 0 ? args[0] : "definitions/hard_level_definitions.txt";
+        Random random = new Random(1);
+        double[][] steps = rays(random, 20);
+        double[][] forecasts = rays(random, 2000);
+        for (LevelInformation info : HeadlessEngine.readLevels(path)) {
+            GameEnvironment environment = new HeadlessEngine(info).getLevel().getEnvironment();
+            System.out.println(info.levelName() + ": " + environment.getList().size() + " collidables");
+            for (int round = 0; round < ROUNDS; round++) {
+                StringBuilder line = new StringBuilder("round " + round + ":");
+                for (GameEnvironment.Mode mode : MODES) {
+                    environment.setMode(mode);
+                    line.append(' ').append(mode).append(" steps ").append(time(environment, steps))
+                            .append(", forecasts ").append(time(environment, forecasts)).append(';');
+                }
+                System.out.println(line);
+            }
+        }
+    }
+
+    /**
+     * Creates rays which start at random points of the screen, in random directions.
+     *
+     * @param random the random generator.
+     * @param length the most change of each coordinate along a ray.
+     * @return the rays, each one as its start and the change of its coordinates.
+     */
+    private static double[][] rays(Random random, double length) {
+        double[][] rays = new double[RAYS][];
+        for (int i = 0; i < RAYS; i++) {
+            rays[i] = new double[]{random.nextDouble() * WIDTH, random.nextDouble() * HEIGHT,
+                    (random.nextDouble() - 0.5) * 2 * length, (random.nextDouble() - 0.5) * 2 * length};
+        }
+        return rays;
+    }
+
+    /**
+     * Searches the closest collision of each of given rays in a given game environment.
+     *
+     * @param environment the given game environment.
+     * @param rays        the given rays.
+     * @return the time a ray took and the number of rays which hit something, as text.
+     */
+    private static String time(GameEnvironment environment, double[][] rays) {
+        SegmentHit hit = new SegmentHit();
+        long hits = 0;
+        long start = System.nanoTime();
+        for (double[] r : rays) {
+            Collidable c = environment.closestCollision(r[0], r[1], r[2], r[3], null, hit);
+            if (c != null) {
+                hits++;
+            }
+        }
+        long perRay = (System.nanoTime() - start) / RAYS;
+        return perRay + " ns/ray (" + hits + " hits)";
+    }
+}
@@ -0,0 +1,143 @@
+import animations.GameLevel;
+import collections.DirtyRegions;
+import collections.GameEnvironment;
+import collections.SpriteCollection;
+import general.Velocity;
+import geometry.Point;
+import headless.HeadlessEngine;
+import headless.ScriptedKeyboard;
+import interfaces.LevelInformation;
+import sprites.BallSystem;
+import sprites.ImageDrawSurface;
+import sprites.StaticLayer;
+import sprites.colliadables.Block;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * The Dirty pixels benchmark.
+ * It plays every level of a levels definitions file by the autopilot, draws each frame on an image, and prints
+ * how many pixels were drawn again in a frame on average and at most, against all the screen's pixels,
+ * and how long a frame took to play and draw.
+ * Then many balls are moved over a background, so a frame has many changed regions, and each frame is drawn
+ * both only where it changed and all of it.
+ * Run it by "make dirty".
+ */
+public class DirtyPixels {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+    private static final int SIDE = 20;
+    private static final int RADIUS = 5;
+    private static final int[] MANY_BALLS = {10, 30, 100, 200, 1000};
+
+    /**
+     * The main method.
+     *
+     * @param args the path of the levels definitions file, and the most frames to play each level for.
+     */
+    public static void main(String[] args) {
+        String path = args.length > 0 ? args[0] : "definitions/my_levels.txt";
+        int maxFrames = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        for (LevelInformation info : HeadlessEngine.readLevels(path)) {
+            play(info.levelName(), engine(info), maxFrames);
+        }
+        for (int n : MANY_BALLS) {
+            manyBalls(n, Math.min(maxFrames, 1000));
+        }
+    }
+
+    /**
+     * Moves a given number of balls inside four borders, over a background, and prints how many regions and
+     * pixels were drawn again in a frame on average, how many frames had too many regions and were drawn again
+     * all, and how long a frame took to draw again only where it changed, against drawing all of it.
+     * With many balls, every frame falls back to drawing all of it, and should take as long as a full frame.
+     *
+     * @param n      the given number of balls.
+     * @param frames the number of frames to draw.
+     */
+    private static void manyBalls(int n, int frames) {
+        GameEnvironment environment = new GameEnvironment();
+        StaticLayer layer = new StaticLayer(WIDTH, HEIGHT);
+        layer.add(new Block(new Point(0, 0), WIDTH, HEIGHT, Color.BLUE), null, SpriteCollection.Layer.BACKGROUND);
+        Block[] borders = {new Block(new Point(0, 0), WIDTH, SIDE, Color.GRAY),
+                new Block(new Point(0, HEIGHT - SIDE), WIDTH, SIDE, Color.GRAY),
+                new Block(new Point(0, SIDE), SIDE, HEIGHT - 2 * SIDE, Color.GRAY),
+                new Block(new Point(WIDTH - SIDE, SIDE), SIDE, HEIGHT - 2 * SIDE, Color.GRAY)};
+        for (Block b : borders) {
+            environment.addCollidable(b);
+            layer.add(b, b.getCollisionRectangle(), SpriteCollection.Layer.STATIC);
+        }
+        // the balls bounce off the up border by the screen's side, which is half of the borders' side.
+        BallSystem balls = new BallSystem(environment, WIDTH, SIDE / 2);
+        Random random = new Random(1);
+        for (int i = 0; i < n; i++) {
+            double angle = random.nextDouble() * 2 * Math.PI;
+            balls.add(2 * SIDE + random.nextDouble() * (WIDTH - 4 * SIDE),
+                    2 * SIDE + random.nextDouble() * (HEIGHT - 4 * SIDE), RADIUS, Color.WHITE,
+                    new Velocity(5 * Math.cos(angle), 5 * Math.sin(angle)));
+        }
+        SpriteCollection sprites = new SpriteCollection();
+        sprites.add(layer, SpriteCollection.Layer.BACKGROUND);
+        sprites.add(balls, SpriteCollection.Layer.ACTORS);
+        ImageDrawSurface frame = new ImageDrawSurface(new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB));
+        DirtyRegions regions = new DirtyRegions(WIDTH, HEIGHT);
+        long pixels = 0;
+        long count = 0;
+        long fallbacks = 0;
+        long changed = 0;
+        long all = 0;
+        for (int f = 0; f < frames; f++) {
+            balls.timePassed();
+            long start = System.nanoTime();
+            pixels += sprites.drawChangedOn(frame, regions, 1);
+            changed += System.nanoTime() - start;
+            count += regions.size();
+            fallbacks += regions.isAll() ? 1 : 0;
+            frame.setClip(0, 0, WIDTH, HEIGHT);
+            start = System.nanoTime();
+            sprites.drawAllOn(frame);
+            all += System.nanoTime() - start;
+        }
+        System.out.printf("%d balls: %.1f regions and %.0f dirty pixels per frame, %.0f%% of the frames all "
+                        + "drawn again, %.1f us per changed frame, %.1f us per full frame%n", n,
+                (double) count / frames, (double) pixels / frames, 100.0 * fallbacks / frames,
+                changed / 1000.0 / frames, all / 1000.0 / frames);
+    }
+
+    /**
+     * @param info the information of a given level.
+     * @return an engine which plays the given level by the autopilot, and draws it on an image.
+     */
+    private static HeadlessEngine engine(LevelInformation info) {
+        ImageDrawSurface surface = new ImageDrawSurface(new BufferedImage(WIDTH, HEIGHT,
+                BufferedImage.TYPE_INT_RGB));
+        HeadlessEngine engine = new HeadlessEngine(info, new ScriptedKeyboard(), surface);
+        engine.getLevel().setAutopilot(true);
+        return engine;
+    }
+
+    /**
+     * Plays a level by a given engine, and prints its dirty pixels and how long a frame took.
+     *
+     * @param name      the name the level is printed by.
+     * @param engine    the given engine.
+     * @param maxFrames the most frames to play the level for.
+     */
+    private static void play(String name, HeadlessEngine engine, int maxFrames) {
+        GameLevel level = engine.getLevel();
+        long screen = (long) WIDTH * HEIGHT;
+        long total = 0;
+        long most = 0;
+        long start = System.nanoTime();
+        while (engine.getFrames() < maxFrames && engine.step()) {
+            total += level.getDirtyPixels();
+            most = Math.max(most, level.getDirtyPixels());
+        }
+        double frames = Math.max(1, engine.getFrames());
+        System.out.printf("%s: %.0f dirty pixels per frame (%.2f%% of the screen), at most %d, "
+                        + "%.1f us per frame, over %d frames%n", name, total / frames, 100.0 * total / frames / screen,
+                most, (System.nanoTime() - start) / frames / 1000, engine.getFrames());
+    }
+}
@@ -0,0 +1,115 @@
+import collections.BatchIndex;
+import collections.ScalarRayBoxKernel;
+import geometry.Line;
+import geometry.Point;
+import geometry.Rectangle;
+import interfaces.RayBoxKernel;
+
+import java.util.Random;
+
+/**
+ * The Ray box benchmark.
+ * It compares the search for the nearest of many blocks by Line.closestIntersectionToStartOfLine,
+ * with the scalar kernel and with the best kernel which can be loaded (the vector one, if present).
+ * Run it by "make bench" (and "make vector" before, for the vector kernel).
+ */
+public class RayBoxBenchmark {
+    private static final int ROUNDS = 5;
+    private static final int RAYS = 20000;
+
+    /**
+     * The main method.
+     *
+     * @param args the number of blocks, 2000 by default.
+     */
+    public static void main(String[] args) {
+        int blocks = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        Random random = new Random(1);
+        Rectangle[] rects = new Rectangle[blocks];
+        double[] minX = new double[blocks];
+        double[] minY = new double[blocks];
+        double[] maxX = new double[blocks];
+        double[] maxY = new double[blocks];
+        for (int i = 0; i < blocks; i++) {
+            rects[i] = new Rectangle(random.nextDouble() * 760, random.nextDouble() * 560, 40, 20);
+            minX[i] = rects[i].getMinX();
+            minY[i] = rects[i].getMinY();
+            maxX[i] = rects[i].getMaxX();
+            maxY[i] = rects[i].getMaxY();
+        }
+        double[][] rays = new double[RAYS][];
+        for (int i = 0; i < RAYS; i++) {
+            rays[i] = new double[]{random.nextDouble() * 800, random.nextDouble() * 600,
+                    (random.nextDouble() - 0.5) * 40, (random.nextDouble() - 0.5) * 40};
+        }
+        RayBoxKernel scalar = new ScalarRayBoxKernel();
+        RayBoxKernel best = BatchIndex.loadKernel();
+        System.out.println("blocks: " + blocks + ", rays: " + RAYS + ", kernel: " + best.getClass().getSimpleName());
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            long lines = lineLoop(rects, rays);
+            long lineTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            long scalarHits = kernelLoop(scalar, rays, minX, minY, maxX, maxY);
+            long scalarTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            long bestHits = kernelLoop(best, rays, minX, minY, maxX, maxY);
+            long bestTime = System.nanoTime() - start;
+            System.out.println("round " + round + ": line loop " + perRay(lineTime) + " ns/ray (" + lines
+                    + " hits), scalar " + perRay(scalarTime) + " ns/ray (" + scalarHits + " hits), "
+                    + best.getClass().getSimpleName() + " " + perRay(bestTime) + " ns/ray (" + bestHits + " hits)");
+        }
+    }
+
+    /**
+     * @param rects the blocks.
+     * @param rays  the trajectories.
+     * @return the number of trajectories which hit a block, by the line's search.
+     */
+    private static long lineLoop(Rectangle[] rects, double[][] rays) {
+        long hits = 0;
+        for (double[] ray : rays) {
+            Line line = new Line(ray[0], ray[1], ray[0] + ray[2], ray[1] + ray[3]);
+            Point start = line.start();
+            double nearest = Double.POSITIVE_INFINITY;
+            for (Rectangle rect : rects) {
+                Point p = line.closestIntersectionToStartOfLine(rect);
+                if (p != null && p.distance(start) < nearest) {
+                    nearest = p.distance(start);
+                }
+            }
+            if (nearest != Double.POSITIVE_INFINITY) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * @param kernel the kernel.
+     * @param rays   the trajectories.
+     * @param minX   the left bounds of the blocks.
+     * @param minY   the up bounds of the blocks.
+     * @param maxX   the right bounds of the blocks.
+     * @param maxY   the down bounds of the blocks.
+     * @return the number of trajectories which hit a block, by the kernel.
+     */
+    private static long kernelLoop(RayBoxKernel kernel, double[][] rays, double[] minX, double[] minY,
+                                   double[] maxX, double[] maxY) {
+        long hits = 0;
+        for (double[] ray : rays) {
+            if (kernel.nearest(ray, minX, minY, maxX, maxY, minX.length, Double.POSITIVE_INFINITY) >= 0) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * @param nanos the time of all the trajectories.
+     * @return the time of one trajectory.
+     */
+    private static long perRay(long nanos) {
+        return nanos / RAYS;
+    }
+}
@@ -0,0 +1,84 @@
+package collections;
+
+import interfaces.RayBoxKernel;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The Vector ray box kernel class.
+ * It tests the trajectory against as many boxes as fit in one vector (4 or 8, by the machine) in one instruction,
+ * using the jdk.incubator.vector module. The boxes which don't fill a whole vector are tested with a mask.
+ * It is compiled apart from the game (make vector), and loaded by the batch index only if the module is present.
+ */
+public class VectorRayBoxKernel implements RayBoxKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private final double[] lanes = new double[SPECIES.length()];
+    private double t;
+
+    @Override
+    public int nearest(double[] ray, double[] minX, double[] minY, double[] maxX, double[] maxY, int count,
+                       double limit) {
+        double x0 = ray[0];
+        double y0 = ray[1];
+        double dx = ray[2];
+        double dy = ray[3];
+        int best = -1;
+        this.t = limit;
+        for (int i = 0; i < count; i += SPECIES.length()) {
+            VectorMask<Double> valid = SPECIES.indexInRange(i, count);
+            DoubleVector left = DoubleVector.fromArray(SPECIES, minX, i, valid);
+            DoubleVector right = DoubleVector.fromArray(SPECIES, maxX, i, valid);
+            DoubleVector up = DoubleVector.fromArray(SPECIES, minY, i, valid);
+            DoubleVector down = DoubleVector.fromArray(SPECIES, maxY, i, valid);
+            DoubleVector tMin = DoubleVector.broadcast(SPECIES, Double.NEGATIVE_INFINITY);
+            DoubleVector tMax = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+            if (dx == 0) {
+                valid = valid.andNot(left.compare(VectorOperators.GT, x0))
+                        .andNot(right.compare(VectorOperators.LT, x0));
+            } else {
+                DoubleVector a = left.sub(x0).div(dx);
+                DoubleVector b = right.sub(x0).div(dx);
+                tMin = a.min(b);
+                tMax = a.max(b);
+            }
+            if (dy == 0) {
+                valid = valid.andNot(up.compare(VectorOperators.GT, y0))
+                        .andNot(down.compare(VectorOperators.LT, y0));
+            } else {
+                DoubleVector a = up.sub(y0).div(dy);
+                DoubleVector b = down.sub(y0).div(dy);
+                tMin = tMin.max(a.min(b));
+                tMax = tMax.min(a.max(b));
+            }
+            valid = valid.andNot(tMin.compare(VectorOperators.GT, tMax));
+            // the entry if the trajectory starts outside, and the exit if it starts inside.
+            VectorMask<Double> outside = tMin.compare(VectorOperators.GE, 0);
+            DoubleVector hit = tMax.blend(tMin, outside);
+            valid = valid.and(outside.or(hit.compare(VectorOperators.GT, 0)))
+                    .and(hit.compare(VectorOperators.LE, 1))
+                    .and(hit.compare(VectorOperators.LT, this.t));
+            if (!valid.anyTrue()) {
+                continue;
+            }
+            DoubleVector hits = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY).blend(hit, valid);
+            double nearest = hits.reduceLanes(VectorOperators.MIN);
+            hits.intoArray(this.lanes, 0);
+            // the first lane with the nearest hit, same as the order of the scalar search.
+            for (int k = 0; k < this.lanes.length; k++) {
+                if (this.lanes[k] == nearest) {
+                    this.t = nearest;
+                    best = i + k;
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public double lastT() {
+        return this.t;
+    }
+}
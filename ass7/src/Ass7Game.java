@@ -35,7 +35,8 @@ public class Ass7Game {
      * The main method of the class.
      * It initializes and runs the game according the user's choice.
      *
-     * @param args the root of level's file the user wants to run.
+     * @param args the root of level's file the user wants to run, the file the games are recorded to, and then
+     *             the options "threaded" and "collide".
      */
     public static void main(String[] args) {
         EndScreen e= new EndScreen(new Counter(1), new Counter(2));
@@ -45,6 +46,7 @@ public class Ass7Game {
         int height = 600;
         int rectShort = 25;
         int framesPerSecond = 60;
+        int ticksPerSecond = 60;
         String name = "highscores";
         File root = new File(name);
         HighScoresTable table;
@@ -52,13 +54,33 @@ public class Ass7Game {
         GUI gui = new GUI("Arkanoid", width, height);
         KeyboardSensor keyboard = gui.getKeyboardSensor();
         DialogManager dialog = gui.getDialogManager();
-        AnimationRunner runner = new AnimationRunner(framesPerSecond, gui);
+        AnimationRunner runner = new AnimationRunner(framesPerSecond, ticksPerSecond, gui);
+        // the last arguments may be options: "threaded" for the levels to be simulated by a thread of their own,
+        // apart from the drawing, and "collide" for balls which bounce off each other.
+        boolean threaded = false;
+        boolean collide = false;
+        int argsCount = args.length;
+        while (argsCount > 0) {
+            String option = args[argsCount - 1];
+            if ("threaded".equals(option)) {
+                threaded = true;
+            } else if ("collide".equals(option)) {
+                collide = true;
+            } else {
+                break;
+            }
+            argsCount--;
+        }
+        runner.setThreaded(threaded);
+        boolean ballCollisions = collide;
         String levelPath;
-        if (args.length > 0) {
+        if (argsCount > 0) {
             levelPath = args[0];
         } else {
             levelPath = "level_sets.txt";
         }
+        // each game is recorded to the given file, if there is one, so it can be replayed.
+        File recordFile = argsCount > 1 ? new File(args[1]) : null;
         Menu<Task<Void>> mainMenu = new MenuAnimation<>("Main Menu", keyboard, runner);
         String menuString = "background_images/menu.jpeg";
         String winnerString = "background_images/winner.jpeg";
@@ -96,6 +118,10 @@ public class Ass7Game {
                     GameFlow flow = new GameFlow(runner, keyboard, table, dialog, root);
                     flow.setSize(width, height, rectShort);
                     flow.setPath(win, lose, stop, winnerString);
+                    flow.setBallCollisions(ballCollisions);
+                    if (recordFile != null) {
+                        flow.record(level.getPath(), recordFile);
+                    }
                     InputStream levelStream = ClassLoader.getSystemClassLoader().getResourceAsStream(level.getPath());
                     List<LevelInformation> levelToRun = new ArrayList<>();
                     if (levelStream != null) {
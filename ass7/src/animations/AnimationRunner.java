@@ -2,27 +2,115 @@ package animations;
 
 import biuoop.DrawSurface;
 import biuoop.GUI;
+import collections.TripleBuffer;
 import interfaces.Animation;
+import interfaces.SimulatedAnimation;
+import interfaces.SnapshotAnimation;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The Animation runner.
  * It takes an Animation object and runs it.
+ * A simulated animation is run by a fixed time step: each drawn frame runs as many simulation ticks as the time
+ * which passed asks for, so the game's speed doesn't depend on the drawing's speed.
+ * The simulation can be fast forwarded by a time scale: each tick's time runs several ticks, and only the last
+ * of them is drawn.
+ * In the threaded mode, an animation which can be drawn from snapshots is simulated by a thread of its own, which
+ * hands a snapshot after its ticks to the drawing thread through a triple buffer, so a slow drawing doesn't delay
+ * the simulation and the keys. An animation the simulation runs meanwhile (like the pause screen) is run by the
+ * drawing thread, while the simulation waits for it.
  */
 public class AnimationRunner {
+    /**
+     * The ticks per second the speeds of the levels are given in.
+     */
+    public static final int BASE_TICKS_PER_SECOND = 60;
+    /**
+     * The time scale which runs as many ticks as the CPU allows, drawing a frame in between.
+     */
+    public static final int UNCAPPED = 0;
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final long NANOS_PER_MILLI = 1000000L;
+    private static final long MAX_CATCH_UP_NANOS = 250000000L;
     private GUI gui;
     private int framesPerSecond;
+    private int ticksPerSecond;
     private biuoop.Sleeper sleeper;
+    private volatile int timeScale;
+    private boolean threaded;
+    private volatile Thread simulationThread;
+    private AtomicReference<Handoff> handed;
+    private volatile long lastRunEnd;
 
     /**
-     * The constructor of a new Animation runner.
+     * The constructor of a new Animation runner, which runs one simulation tick per frame.
      *
      * @param framesPerSecond the frames which display per second.
      * @param gui             the gui.
      */
     public AnimationRunner(int framesPerSecond, GUI gui) {
+        this(framesPerSecond, framesPerSecond, gui);
+    }
+
+    /**
+     * The constructor of a new Animation runner.
+     *
+     * @param framesPerSecond the frames which display per second.
+     * @param ticksPerSecond  the simulation ticks which run per second.
+     * @param gui             the gui.
+     */
+    public AnimationRunner(int framesPerSecond, int ticksPerSecond, GUI gui) {
         this.framesPerSecond = framesPerSecond;
+        this.ticksPerSecond = ticksPerSecond;
         this.gui = gui;
         this.sleeper = new biuoop.Sleeper();
+        this.timeScale = 1;
+        this.threaded = false;
+        this.handed = new AtomicReference<>();
+    }
+
+    /**
+     * @return the simulation ticks which run per second.
+     */
+    public int getTicksPerSecond() {
+        return this.ticksPerSecond;
+    }
+
+    /**
+     * Sets the number of simulation ticks which run in each tick's time, or UNCAPPED to run them as fast
+     * as possible.
+     *
+     * @param scale the time scale.
+     */
+    public void setTimeScale(int scale) {
+        this.timeScale = Math.max(UNCAPPED, scale);
+    }
+
+    /**
+     * @return the number of simulation ticks which run in each tick's time, or UNCAPPED.
+     */
+    public int getTimeScale() {
+        return this.timeScale;
+    }
+
+    /**
+     * Sets if an animation which can be drawn from snapshots is simulated by a thread of its own.
+     *
+     * @param on true for the threaded mode.
+     */
+    public void setThreaded(boolean on) {
+        this.threaded = on;
+    }
+
+    /**
+     * @return true if an animation which can be drawn from snapshots is simulated by a thread of its own.
+     */
+    public boolean isThreaded() {
+        return this.threaded;
     }
 
     /**
@@ -31,20 +119,272 @@ public class AnimationRunner {
      * @param animation the given animation.
      */
     public void run(Animation animation) {
-        int millisecondsPerFrame = 1000 / this.framesPerSecond;
+        try {
+            if (Thread.currentThread() == this.simulationThread) {
+                runByDrawingThread(animation);
+            } else if (this.threaded && animation instanceof SnapshotAnimation) {
+                runThreaded((SnapshotAnimation) animation);
+            } else if (animation instanceof SimulatedAnimation) {
+                runSimulated((SimulatedAnimation) animation);
+            } else {
+                runFrames(animation);
+            }
+        } finally {
+            // a simulation which ran this animation from one of its ticks doesn't count the time it took.
+            this.lastRunEnd = System.nanoTime();
+        }
+    }
+
+    /**
+     * Runs a given animation, which draws and changes itself in each frame.
+     *
+     * @param animation the given animation.
+     */
+    private void runFrames(Animation animation) {
+        long nanosPerFrame = NANOS_PER_SECOND / this.framesPerSecond;
         while (true) {
-            long startTime = System.currentTimeMillis();
+            long startTime = System.nanoTime();
             DrawSurface d = gui.getDrawSurface();
             animation.doOneFrame(d);
             if (animation.shouldStop()) {
                 break;
             }
             gui.show(d);
-            long usedTime = System.currentTimeMillis() - startTime;
-            long milliSecondLeftToSleep = millisecondsPerFrame - usedTime;
-            if (milliSecondLeftToSleep > 0) {
-                this.sleeper.sleepFor(milliSecondLeftToSleep);
+            sleepUntil(startTime + nanosPerFrame);
+        }
+    }
+
+    /**
+     * Runs a given simulated animation by a fixed time step.
+     * The time which passed is added to an accumulator, and a tick runs for every tick's time in it.
+     * The frame is drawn between the last two ticks, by the part of a tick which is left in the accumulator.
+     * After a slow frame, at most a quarter of a second is made up for. The time an animation which a tick runs
+     * takes (like the pause screen) isn't simulation time: the ticks go on from where they were before it.
+     * With a time scale, each tick's time runs that number of ticks. Uncapped, the ticks run until a frame's
+     * time has passed, and the frame is drawn at the last tick, without sleeping.
+     *
+     * @param animation the given animation.
+     */
+    private void runSimulated(SimulatedAnimation animation) {
+        long nanosPerFrame = NANOS_PER_SECOND / this.framesPerSecond;
+        long nanosPerTick = NANOS_PER_SECOND / this.ticksPerSecond;
+        long accumulator = nanosPerTick;
+        long previous = System.nanoTime();
+        while (true) {
+            // the time since the end of an animation which a tick ran is counted, and not the time it ran.
+            long runEnd = this.lastRunEnd;
+            long startTime = System.nanoTime();
+            accumulator = Math.min(accumulator + startTime - Math.max(previous, runEnd),
+                    Math.max(MAX_CATCH_UP_NANOS, nanosPerTick));
+            previous = startTime;
+            int scale = this.timeScale;
+            if (scale == UNCAPPED) {
+                do {
+                    animation.tick();
+                } while (!animation.shouldStop() && System.nanoTime() - startTime < nanosPerFrame);
+                accumulator = nanosPerTick;
+            }
+            while (scale != UNCAPPED && accumulator >= nanosPerTick && !animation.shouldStop()) {
+                // the ticks between the drawn ones are run without drawing.
+                for (int i = 0; i < scale && !animation.shouldStop() && this.lastRunEnd == runEnd; i++) {
+                    animation.tick();
+                }
+                accumulator -= nanosPerTick;
+                if (this.lastRunEnd != runEnd) {
+                    // a tick ran an animation, and the ticks which were due before it are dropped.
+                    accumulator = 0;
+                    break;
+                }
             }
+            if (animation.shouldStop()) {
+                break;
+            }
+            DrawSurface d = gui.getDrawSurface();
+            animation.render(d, scale == UNCAPPED ? 1 : (double) accumulator / nanosPerTick);
+            gui.show(d);
+            if (scale != UNCAPPED) {
+                sleepUntil(startTime + nanosPerFrame);
+            }
+        }
+    }
+
+    /**
+     * Runs a given snapshot animation by two threads. A new thread runs the ticks by a fixed time step, as
+     * runSimulated does, and publishes a snapshot after them. This thread draws the newest snapshot each frame,
+     * between the state before its tick and its state, by the time which passed since it was taken.
+     * Whatever the simulation throws is thrown again by this thread, once the simulation thread ended.
+     *
+     * @param animation the given animation.
+     */
+    private void runThreaded(final SnapshotAnimation animation) {
+        long nanosPerFrame = NANOS_PER_SECOND / this.framesPerSecond;
+        final long nanosPerTick = NANOS_PER_SECOND / this.ticksPerSecond;
+        final TripleBuffer frames = new TripleBuffer(animation.snapshotSize());
+        final AtomicBoolean finished = new AtomicBoolean(false);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        // the state before the first tick is drawn until the simulation publishes a snapshot.
+        animation.snapshot(frames.write(animation.snapshotSize()));
+        frames.publish(System.nanoTime());
+        Thread simulation = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    simulate(animation, frames, nanosPerTick);
+                } catch (Throwable e) {
+                    // errors are caught too, so the turn fails on the drawing thread, and doesn't end as if played.
+                    failure.set(e);
+                } finally {
+                    finished.set(true);
+                }
+            }
+        }, "simulation");
+        this.simulationThread = simulation;
+        simulation.start();
+        while (!finished.get()) {
+            long startTime = System.nanoTime();
+            Handoff waiting = this.handed.getAndSet(null);
+            if (waiting != null) {
+                waiting.runBy(this);
+                continue;
+            }
+            ByteBuffer snapshot = frames.read();
+            double alpha = Math.min(1, Math.max(0, (double) (startTime - frames.readStamp()) / nanosPerTick));
+            DrawSurface d = gui.getDrawSurface();
+            animation.render(d, snapshot, alpha);
+            gui.show(d);
+            sleepUntil(startTime + nanosPerFrame);
+        }
+        // an animation handed after the last check is run too, so the simulation is never left waiting for it.
+        Handoff waiting = this.handed.getAndSet(null);
+        if (waiting != null) {
+            waiting.runBy(this);
+        }
+        try {
+            simulation.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.simulationThread = null;
+        Throwable thrown = failure.get();
+        if (thrown instanceof RuntimeException) {
+            throw (RuntimeException) thrown;
+        }
+        if (thrown instanceof Error) {
+            throw (Error) thrown;
+        }
+        if (thrown != null) {
+            throw new RuntimeException("The simulation failed", thrown);
+        }
+    }
+
+    /**
+     * Runs the ticks of a given animation by a fixed time step, on the simulation thread, until it stops.
+     * After each frame's time of ticks, a snapshot is published to a given triple buffer.
+     *
+     * @param animation    the given animation.
+     * @param frames       the given triple buffer.
+     * @param nanosPerTick the time of a tick.
+     */
+    private void simulate(SnapshotAnimation animation, TripleBuffer frames, long nanosPerTick) {
+        long nanosPerFrame = NANOS_PER_SECOND / this.framesPerSecond;
+        long accumulator = nanosPerTick;
+        long previous = System.nanoTime();
+        while (!animation.shouldStop()) {
+            // the time since the end of an animation which a tick ran is counted, and not the time it ran.
+            long runEnd = this.lastRunEnd;
+            long startTime = System.nanoTime();
+            accumulator = Math.min(accumulator + startTime - Math.max(previous, runEnd),
+                    Math.max(MAX_CATCH_UP_NANOS, nanosPerTick));
+            previous = startTime;
+            int scale = this.timeScale;
+            boolean ticked = false;
+            if (scale == UNCAPPED) {
+                do {
+                    animation.tick();
+                } while (!animation.shouldStop() && System.nanoTime() - startTime < nanosPerFrame);
+                accumulator = nanosPerTick;
+                ticked = true;
+            }
+            while (scale != UNCAPPED && accumulator >= nanosPerTick && !animation.shouldStop()) {
+                for (int i = 0; i < scale && !animation.shouldStop() && this.lastRunEnd == runEnd; i++) {
+                    animation.tick();
+                }
+                accumulator -= nanosPerTick;
+                ticked = true;
+                if (this.lastRunEnd != runEnd) {
+                    // a tick ran an animation, and the ticks which were due before it are dropped.
+                    accumulator = 0;
+                    break;
+                }
+            }
+            if (ticked) {
+                animation.snapshot(frames.write(animation.snapshotSize()));
+                frames.publish(System.nanoTime());
+            }
+            if (scale != UNCAPPED) {
+                // the next tick is due once the accumulator fills again.
+                sleepUntil(startTime + nanosPerTick - accumulator);
+            }
+        }
+    }
+
+    /**
+     * Hands a given animation from the simulation thread to the drawing thread, which runs it, and waits until
+     * it stops.
+     *
+     * @param animation the given animation.
+     */
+    private void runByDrawingThread(Animation animation) {
+        Handoff handoff = new Handoff(animation);
+        this.handed.set(handoff);
+        try {
+            handoff.done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * An animation handed from the simulation thread to the drawing thread, with the latch the simulation waits
+     * on until it stops. Both are handed in one reference, so the drawing thread never sees one without the other.
+     */
+    private static class Handoff {
+        private final Animation animation;
+        private final CountDownLatch done;
+
+        /**
+         * The constructor of a new Handoff.
+         *
+         * @param animation the handed animation.
+         */
+        Handoff(Animation animation) {
+            this.animation = animation;
+            this.done = new CountDownLatch(1);
+        }
+
+        /**
+         * Runs the handed animation by a given runner, and releases the simulation after it, even if it failed.
+         *
+         * @param runner the given runner.
+         */
+        void runBy(AnimationRunner runner) {
+            try {
+                runner.run(this.animation);
+            } finally {
+                this.done.countDown();
+            }
+        }
+    }
+
+    /**
+     * Sleeps until a given time.
+     *
+     * @param deadline the given time, by System.nanoTime.
+     */
+    private void sleepUntil(long deadline) {
+        long milliSecondLeftToSleep = (deadline - System.nanoTime()) / NANOS_PER_MILLI;
+        if (milliSecondLeftToSleep > 0) {
+            this.sleeper.sleepFor(milliSecondLeftToSleep);
         }
     }
 }
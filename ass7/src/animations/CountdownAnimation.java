@@ -39,7 +39,7 @@ public class CountdownAnimation implements Animation {
         long sleep = (long) ((this.numOfSeconds / (this.countFrom + 1)) * 1000);
         // this methods runs before the animation is displayed on the screen, so the sleeping has to occur after one
         // doOneFrame loop.
-        if (this.current < this.countFrom) {
+        if (this.current < this.countFrom && sleep > 0) {
             sleeper.sleepFor(sleep);
         }
         this.gameScreen.drawAllOn(d);
@@ -3,20 +3,27 @@ package animations;
 import animations.screens.PauseScreen;
 import biuoop.DrawSurface;
 import biuoop.KeyboardSensor;
+import collections.DirtyRegions;
 import collections.GameEnvironment;
+import collections.SnapshotRing;
 import collections.SpriteCollection;
+import general.Autopilot;
 import general.Counter;
+import general.Recording;
 import general.Velocity;
 import geometry.Point;
 import geometry.Rectangle;
-import interfaces.Animation;
 import interfaces.Collidable;
 import interfaces.LevelInformation;
+import interfaces.SnapshotAnimation;
 import interfaces.Sprite;
+import interfaces.TickedKeyboard;
 import listeners.BallRemover;
 import listeners.BlockRemover;
 import listeners.ScoreTrackingListener;
-import sprites.Ball;
+import sprites.BallSystem;
+import sprites.ImageDrawSurface;
+import sprites.StaticLayer;
 import sprites.colliadables.Block;
 import sprites.colliadables.Paddle;
 import sprites.indicators.LivesIndicator;
@@ -24,15 +31,28 @@ import sprites.indicators.ScoreIndicator;
 import sprites.indicators.NameIndicator;
 
 import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 /**
  * The Game Level class.
  * This class holds the sprites and the collidables, and will be in charge of the level's animation.
  */
-public class GameLevel implements Animation {
+public class GameLevel implements SnapshotAnimation {
+    private static final int MANY_BALLS = 8;
+    private static final int REWIND_SECONDS = 5;
+    private static final int SNAPSHOTS_PER_SECOND = 30;
+    private static final int AUTOPILOT_BOUNCES = 4;
+    private static final String FAST_FORWARD_KEY = "f";
+    private static final int[] TIME_SCALES = {1, 4, 16, AnimationRunner.UNCAPPED};
     private SpriteCollection sprites;
     private GameEnvironment environment;
+    private BallSystem ballSystem;
+    private StaticLayer staticLayer;
+    private ImageDrawSurface frame;
+    private DirtyRegions regions;
+    private long dirtyPixels;
     private int width;
     private int height;
     private int rectShort;
@@ -54,8 +74,18 @@ public class GameLevel implements Animation {
     private KeyboardSensor keyboard;
     private LevelInformation level;
     private List<Velocity> velocities;
+    private double stepFraction;
     private int radiusBall;
     private String stop;
+    private Block[] levelBlocks;
+    private SnapshotRing rewind;
+    private boolean rewindOn;
+    private int snapshotInterval;
+    private int ticks;
+    private boolean ballCollisions;
+    private Autopilot autopilot;
+    private boolean fastForwardHeld;
+    private GameLevel mirror;
 
     /**
      * The constructor of a new game.
@@ -69,6 +99,22 @@ public class GameLevel implements Animation {
      */
     public GameLevel(LevelInformation level, AnimationRunner runner, KeyboardSensor keyboard,
                      Counter lives, Counter score, Counter blocks) {
+        this(level, runner, keyboard, lives, score, blocks, runner.getTicksPerSecond());
+    }
+
+    /**
+     * The constructor of a new game, played by a given number of ticks per second.
+     *
+     * @param level          the level to be display.
+     * @param runner         the animation's runner, or null for a mirror which is only drawn.
+     * @param keyboard       the keyboard's animation, or null for a mirror which is only drawn.
+     * @param lives          the lives counter.
+     * @param score          the score counter.
+     * @param blocks         the blocks counter.
+     * @param ticksPerSecond the ticks per second the level is played by.
+     */
+    private GameLevel(LevelInformation level, AnimationRunner runner, KeyboardSensor keyboard,
+                      Counter lives, Counter score, Counter blocks, int ticksPerSecond) {
         this.level = level;
         this.sprites = new SpriteCollection();
         this.environment = new GameEnvironment();
@@ -86,6 +132,12 @@ public class GameLevel implements Animation {
         this.runner = runner;
         this.radiusBall = 8;
         this.stop = null;
+        // the speeds of the level are given per base tick, so they're scaled to the runner's ticks.
+        this.stepFraction = (double) AnimationRunner.BASE_TICKS_PER_SECOND / ticksPerSecond;
+        // a snapshot is kept every few ticks, enough to rewind the last seconds of the turn.
+        this.snapshotInterval = Math.max(1, ticksPerSecond / SNAPSHOTS_PER_SECOND);
+        this.rewind = new SnapshotRing(REWIND_SECONDS * ticksPerSecond / this.snapshotInterval);
+        this.rewindOn = true;
     }
 
     /**
@@ -110,6 +162,15 @@ public class GameLevel implements Animation {
         this.environment.addCollidable(c);
     }
 
+    /**
+     * This method adds a given collidable, which moves every frame, to the game environment.
+     *
+     * @param c the given collidable.
+     */
+    public void addDynamicCollidable(Collidable c) {
+        this.environment.addDynamicCollidable(c);
+    }
+
     /**
      * This method removes a given collidable from the game environment.
      *
@@ -120,7 +181,16 @@ public class GameLevel implements Animation {
     }
 
     /**
-     * This method adds a given sprite to the list of sprites.
+     * This method updates the game environment after a given collidable was moved.
+     *
+     * @param c the given collidable.
+     */
+    public void collidableMoved(Collidable c) {
+        this.environment.collidableMoved(c);
+    }
+
+    /**
+     * This method adds a given sprite to the actors layer of the sprites.
      *
      * @param s the given sprite.
      */
@@ -129,17 +199,40 @@ public class GameLevel implements Animation {
     }
 
     /**
-     * This method special method for adding a ball to game, it adds it to start of list,
-     * in order to make the ball to be shown first.
+     * This method adds a given sprite to a given layer of the sprites.
+     *
+     * @param s     the given sprite.
+     * @param layer the given layer.
+     * @return the sprite's handle, which removes it.
+     */
+    public SpriteCollection.Handle addSprite(Sprite s, SpriteCollection.Layer layer) {
+        return this.sprites.add(s, layer);
+    }
+
+    /**
+     * This method adds a given sprite, which doesn't move, to a given layer of the static layer, which is drawn
+     * once on an image.
+     *
+     * @param s      the given sprite.
+     * @param bounds the rectangle the sprite is drawn in.
+     * @param layer  the given layer.
+     * @return the sprite's handle, which removes it.
+     */
+    public SpriteCollection.Handle addStaticSprite(Sprite s, Rectangle bounds, SpriteCollection.Layer layer) {
+        return this.staticLayer.add(s, bounds, layer);
+    }
+
+    /**
+     * This method removes the sprite of a given handle from the static layer.
      *
-     * @param s the given sprite - ball.
+     * @param handle the given handle.
      */
-    public void addABall(Sprite s) {
-        this.sprites.addToPosition(s, 1);
+    public void removeStaticSprite(SpriteCollection.Handle handle) {
+        this.staticLayer.remove(handle);
     }
 
     /**
-     * This method removes a given sprite from the list of sprites.
+     * This method removes a given sprite from the sprites.
      *
      * @param s the given sprite.
      */
@@ -147,12 +240,28 @@ public class GameLevel implements Animation {
         this.sprites.removeSprite(s);
     }
 
+    /**
+     * This method removes the sprite of a given handle from the sprites.
+     *
+     * @param handle the given handle.
+     */
+    public void removeSprite(SpriteCollection.Handle handle) {
+        this.sprites.remove(handle);
+    }
+
     /**
      * The method initializes a new game: creates the Blocks, the paddle, the background and the indicators,
      * and adds them to the game.
      */
     public void initialize() {
         int textSize = 20;
+        // the background, the borders and the blocks are drawn on the static layer, under all the other sprites.
+        this.staticLayer = new StaticLayer(this.width, this.height);
+        this.sprites.add(this.staticLayer, SpriteCollection.Layer.BACKGROUND);
+        addTheBackground();
+        // all the balls are moved and drawn by one sprite, the first of the actors, so they move before the paddle.
+        this.ballSystem = new BallSystem(this.environment, this.width, this.rectShort);
+        this.sprites.add(this.ballSystem, SpriteCollection.Layer.ACTORS);
         this.topRect = new Rectangle(new Point(0, 0), this.width, this.rectShort);
         addScoreIndicator(this.score, this.topRect, textSize, Color.WHITE, 4);
         addLiveIndicator(this.lives, this.topRect, textSize, 15);
@@ -160,14 +269,69 @@ public class GameLevel implements Animation {
         addPaddle();
         addBorders();
         addBlock();
-        addTheBackground();
+        // with many balls, one sweep a frame finds the collidables near all of them at once.
+        if (this.level.numberOfBalls() >= MANY_BALLS) {
+            this.environment.setMode(GameEnvironment.Mode.SWEEP);
+        }
+        this.ballSystem.setBallCollisions(this.ballCollisions, this.radiusBall);
+    }
+
+    /**
+     * Sets if the paddle is played by an autopilot, which forecasts the balls' paths, instead of the keyboard.
+     *
+     * @param on true for the paddle to be played by an autopilot.
+     */
+    public void setAutopilot(boolean on) {
+        this.autopilot = on ? new Autopilot(this, AUTOPILOT_BOUNCES) : null;
+        if (this.gamePaddle != null) {
+            this.gamePaddle.setController(this.autopilot);
+        }
+    }
+
+    /**
+     * Sets if the level keeps snapshots of its last seconds, which the rewind key goes back through, as it does
+     * by default. A level which is played without the rewind key, as by a simulation, is faster without them.
+     *
+     * @param on true for the snapshots to be kept.
+     */
+    public void setRewind(boolean on) {
+        this.rewindOn = on;
+        if (!on) {
+            this.rewind.clear();
+        }
     }
 
     /**
-     * adds the background to the start of the sprite's list, to be shown in the back.
+     * Sets if the balls of the level bounce off each other, or pass through each other, as they do by default.
+     *
+     * @param collide true for balls which bounce off each other.
+     */
+    public void setBallCollisions(boolean collide) {
+        this.ballCollisions = collide;
+        if (this.ballSystem != null) {
+            this.ballSystem.setBallCollisions(collide, this.radiusBall);
+        }
+    }
+
+    /**
+     * adds the background to the start of the static layer, to be shown in the back.
      */
     private void addTheBackground() {
-        this.sprites.addToPosition(this.level.getBackground(), 0);
+        this.staticLayer.add(this.level.getBackground(), null, SpriteCollection.Layer.BACKGROUND);
+    }
+
+    /**
+     * @return the game environment of the level.
+     */
+    public GameEnvironment getEnvironment() {
+        return this.environment;
+    }
+
+    /**
+     * @return the ball system, which holds all the balls of the level.
+     */
+    public BallSystem getBallSystem() {
+        return this.ballSystem;
     }
 
     /**
@@ -195,7 +359,7 @@ public class GameLevel implements Animation {
      */
     private void addLiveIndicator(Counter livesCount, Rectangle rect, int size, double distance) {
         LivesIndicator indicator = new LivesIndicator(livesCount, rect, size, distance);
-        this.addSprite(indicator);
+        this.addSprite(indicator, SpriteCollection.Layer.HUD);
     }
 
     /**
@@ -209,7 +373,7 @@ public class GameLevel implements Animation {
      */
     private void addNameIndicator(String name, Rectangle rect, int size, double distance) {
         NameIndicator indicator = new NameIndicator(name, rect, size, distance);
-        this.addSprite(indicator);
+        this.addSprite(indicator, SpriteCollection.Layer.HUD);
     }
 
     /**
@@ -224,7 +388,7 @@ public class GameLevel implements Animation {
      */
     private void addScoreIndicator(Counter scoreCount, Rectangle rect, int size, Color color, double distance) {
         ScoreIndicator indicator = new ScoreIndicator(scoreCount, rect, size, color, distance);
-        this.addSprite(indicator);
+        this.addSprite(indicator, SpriteCollection.Layer.HUD);
     }
 
     /**
@@ -234,8 +398,9 @@ public class GameLevel implements Animation {
         this.paddleUpLeft = new Point((int) (this.getWidth() / 2 - this.paddleWidth / 2),
                 this.height - this.paddleHeight);
         Paddle paddle = new Paddle(this.keyboard, this.paddleUpLeft, this.paddleWidth,
-                this.paddleHeight, Color.ORANGE, this.paddleSpeed, this);
+                this.paddleHeight, Color.ORANGE, this.paddleSpeed * this.stepFraction, this);
         paddle.addToGame(this);
+        paddle.setController(this.autopilot);
         this.gamePaddle = paddle;
     }
 
@@ -244,13 +409,50 @@ public class GameLevel implements Animation {
      * Each block has the remover and score listeners.
      */
     private void addBlock() {
-        for (Block b : this.level.blocks()) {
+        List<Block> levelBlocks = this.level.blocks();
+        this.setLattice(levelBlocks);
+        this.levelBlocks = levelBlocks.toArray(new Block[0]);
+        for (Block b : this.levelBlocks) {
+            // the static layer is told first, so it stays first when a rewind adds the other listeners again.
+            b.addHitListener(this.staticLayer);
             b.addHitListener(this.blockRemover);
             b.addHitListener(this.scoreTracking);
             b.addToGame(this);
         }
     }
 
+    /**
+     * Sets the lattice of the game environment, according the level's blocks.
+     * The lattice starts at the level's blocks start point, its rows are the level's rows,
+     * and its columns are as wide as the narrowest block.
+     *
+     * @param levelBlocks the level's blocks.
+     */
+    private void setLattice(List<Block> levelBlocks) {
+        if (levelBlocks.isEmpty() || this.level.rowHeight() <= 0) {
+            return;
+        }
+        double startX = this.level.blocksStartX();
+        double startY = this.level.blocksStartY();
+        double cellWidth = Double.POSITIVE_INFINITY;
+        double maxX = startX;
+        double maxY = startY;
+        for (Block b : levelBlocks) {
+            Rectangle rect = b.getCollisionRectangle();
+            if (rect.getWidth() > 0) {
+                cellWidth = Math.min(cellWidth, rect.getWidth());
+            }
+            maxX = Math.max(maxX, rect.getUpperLeft().getX() + rect.getWidth());
+            maxY = Math.max(maxY, rect.getUpperLeft().getY() + rect.getHeight());
+        }
+        if (cellWidth == Double.POSITIVE_INFINITY) {
+            return;
+        }
+        int cols = Math.max(1, (int) Math.ceil((maxX - startX) / cellWidth));
+        int rows = Math.max(1, (int) Math.ceil((maxY - startY) / this.level.rowHeight()));
+        this.environment.setLattice(startX, startY, cellWidth, this.level.rowHeight(), cols, rows);
+    }
+
     /**
      * Creates the ball and adds it to the game, and update the ball's counter.
      *
@@ -260,10 +462,7 @@ public class GameLevel implements Animation {
      * @param v      is the ball's velocity.
      */
     private void addBall(double x, double y, int radius, Velocity v) {
-        Ball ball = new Ball(x, y, radius, Color.WHITE, this.environment);
-        ball.setVelocity(v);
-        ball.setScreenSizes(this.width, this.rectShort);
-        ball.addToGame(this);
+        this.ballSystem.add(x, y, radius, Color.WHITE, v);
         this.balls.increase(1);
     }
 
@@ -283,9 +482,9 @@ public class GameLevel implements Animation {
         Point bottom = new Point(this.rectShort, this.height);
         Block deathRegion = new Block(bottom, this.width - 2 * this.rectShort, 0, Color.GRAY);
         for (Block b : blocksList) {
-            b.addToGame(this);
+            b.addToGame(this, SpriteCollection.Layer.STATIC);
         }
-        deathRegion.addToGame(this);
+        deathRegion.addToGame(this, SpriteCollection.Layer.STATIC);
         deathRegion.addHitListener(this.ballRemover);
     }
 
@@ -295,25 +494,135 @@ public class GameLevel implements Animation {
      * Countdown from 3 to 1 will be shown up at the beginning of each turn.
      */
     public void playOneTurn() {
-        addBalls();
-        updatePaddle();
-        double numOfSeconds = 2;
+        prepareTurn();
+        // the countdown doesn't wait while the game is fast forwarded.
+        double numOfSeconds = this.runner.getTimeScale() == 1 ? 2 : 0;
         int countFrom = 3;
         this.runner.run(new CountdownAnimation(numOfSeconds, countFrom, this.sprites));
-        this.running = true;
         this.runner.run(this);
     }
 
+    /**
+     * Prepares a new turn: adds the level's balls and puts the paddle in the center,
+     * so the turn can be played frame by frame, without the runner and the countdown.
+     */
+    public void prepareTurn() {
+        addBalls();
+        updatePaddle();
+        this.running = true;
+        // a turn can be rewound only to its own start.
+        this.rewind.clear();
+        this.ticks = 0;
+    }
+
     @Override
     public void doOneFrame(DrawSurface d) {
-        this.sprites.drawAllOn(d);
+        render(d, 1);
+        tick();
+    }
+
+    /**
+     * Draws the level on a given surface. The level is kept on a frame of its own, which is drawn again only in the
+     * regions which changed since the last frame, and the frame is drawn on the surface as one image.
+     *
+     * @param d     the surface.
+     * @param alpha the part of the next tick which has passed.
+     */
+    @Override
+    public void render(DrawSurface d, double alpha) {
+        if (this.frame == null || this.frame.getWidth() != d.getWidth() || this.frame.getHeight() != d.getHeight()) {
+            this.frame = new ImageDrawSurface(new BufferedImage(d.getWidth(), d.getHeight(),
+                    BufferedImage.TYPE_INT_RGB));
+            this.regions = new DirtyRegions(d.getWidth(), d.getHeight());
+            // a new frame is drawn all, as the static layer covers all of it.
+            this.staticLayer.invalidate(null);
+        }
+        this.dirtyPixels = this.sprites.drawChangedOn(this.frame, this.regions, alpha);
+        d.drawImage(0, 0, this.frame.getImage());
+    }
+
+    /**
+     * Draws the level as it was in a given snapshot. The snapshot is restored to a mirror of the level, which is
+     * created by the first call and is only drawn, never ticked, so the live level can be ticked meanwhile by
+     * another thread.
+     *
+     * @param d        the surface.
+     * @param snapshot the given snapshot.
+     * @param alpha    the part of the next tick which has passed.
+     */
+    @Override
+    public void render(DrawSurface d, ByteBuffer snapshot, double alpha) {
+        if (this.mirror == null) {
+            this.mirror = this.renderMirror();
+        }
+        this.mirror.restore(snapshot);
+        this.mirror.render(d, alpha);
+    }
+
+    /**
+     * Creates a mirror of the level, which is only drawn from the level's snapshots. The mirror has no runner and
+     * no keyboard, so its paddle isn't bound to the player's keys, and it can't be ticked.
+     *
+     * @return the mirror.
+     */
+    private GameLevel renderMirror() {
+        // the mirror's counters are set by the snapshots.
+        GameLevel m = new GameLevel(this.level, null, null, new Counter(0), new Counter(0), new Counter(0),
+                this.runner.getTicksPerSecond());
+        m.setSizes(this.width, this.height, this.rectShort);
+        m.setRewind(false);
+        m.initialize();
+        return m;
+    }
+
+    /**
+     * @return the number of pixels which were drawn again in the last frame.
+     */
+    public long getDirtyPixels() {
+        return this.dirtyPixels;
+    }
+
+    @Override
+    public void tick() {
+        if (this.runner == null) {
+            throw new RuntimeException("A mirror of a level is only drawn, and never ticked");
+        }
+        // a keyboard which is recorded or replayed gives the same keys during all the tick.
+        TickedKeyboard ticked = this.keyboard instanceof TickedKeyboard ? (TickedKeyboard) this.keyboard : null;
+        if (ticked != null) {
+            ticked.nextTick();
+        }
+        // while the rewind key is held, the level goes back a snapshot each tick instead of moving.
+        if (this.keyboard.isPressed(Recording.REWIND_KEY) && this.rewind.size() > 0) {
+            this.restore(this.rewind.pop());
+            if (ticked != null) {
+                ticked.endTick();
+            }
+            return;
+        }
+        if (this.rewindOn && this.ticks % this.snapshotInterval == 0) {
+            this.snapshot(this.rewind.push(this.snapshotSize()));
+        }
+        this.ticks++;
+        this.environment.prepareFrame();
         this.sprites.notifyAllTimePassed();
+        this.environment.endFrame();
         // ends the game if the player destroyed all the blocks, and gives him another 100 points,
         // or all balls were "dead".
         if (this.blocks.getValue() == 0 || this.balls.getValue() == 0) {
             this.running = false;
         }
-        if (this.keyboard.isPressed("p")) {
+        // each press of the fast forward key moves to the next time scale.
+        boolean fastForward = this.keyboard.isPressed(FAST_FORWARD_KEY);
+        if (fastForward && !this.fastForwardHeld) {
+            this.runner.setTimeScale(nextTimeScale(this.runner.getTimeScale()));
+        }
+        this.fastForwardHeld = fastForward;
+        boolean paused = this.keyboard.isPressed("p");
+        if (ticked != null) {
+            ticked.endTick();
+        }
+        if (paused) {
             PauseScreen pause = new PauseScreen();
             pause.setBackground(this.stop);
             this.runner.run(new KeyPressStoppableAnimation(this.keyboard,
@@ -321,6 +630,102 @@ public class GameLevel implements Animation {
         }
     }
 
+    /**
+     * @return the number of bytes a snapshot of the level takes.
+     */
+    @Override
+    public int snapshotSize() {
+        return 4 * Integer.BYTES + 2 * Double.BYTES + this.levelBlocks.length * Integer.BYTES
+                + this.ballSystem.snapshotSize();
+    }
+
+    /**
+     * Writes the live state of the level to a given buffer: the counters, the paddle's location, the hit points
+     * of each block and if it's still in the game, and the balls.
+     * The level's data which doesn't change while it's played, as the blocks' places, colors and images,
+     * isn't written, so the snapshot takes a few bytes for each block and ball.
+     *
+     * @param out the given buffer.
+     */
+    @Override
+    public void snapshot(ByteBuffer out) {
+        out.putInt(this.score.getValue()).putInt(this.lives.getValue());
+        out.putInt(this.blocks.getValue()).putInt(this.balls.getValue());
+        out.putDouble(this.gamePaddle.getCollisionRectangle().getMinX());
+        out.putDouble(this.gamePaddle.getPreviousX());
+        for (Block b : this.levelBlocks) {
+            // a removed block is marked by the complement of its hit points.
+            out.putInt(b.isInGame() ? b.getHitPoints() : ~b.getHitPoints());
+        }
+        this.ballSystem.snapshot(out);
+    }
+
+    /**
+     * @return a new array with a snapshot of the live state of the level.
+     */
+    public byte[] snapshot() {
+        ByteBuffer out = ByteBuffer.allocate(this.snapshotSize());
+        this.snapshot(out);
+        return out.array();
+    }
+
+    /**
+     * Restores the live state of the level from a given buffer, which was written by snapshot.
+     * The blocks which were removed since the snapshot are added back to the game with their listeners,
+     * and the blocks which were added back since the snapshot are removed again.
+     *
+     * @param in the given buffer.
+     */
+    public void restore(ByteBuffer in) {
+        this.score.set(in.getInt());
+        this.lives.set(in.getInt());
+        this.blocks.set(in.getInt());
+        this.balls.set(in.getInt());
+        double paddleX = in.getDouble();
+        this.gamePaddle.restoreLocation(paddleX, in.getDouble());
+        for (Block b : this.levelBlocks) {
+            int hits = in.getInt();
+            boolean present = hits >= 0;
+            if (b.getHitPoints() != (present ? hits : ~hits)) {
+                this.staticLayer.invalidate(b.getCollisionRectangle());
+            }
+            b.setHits(present ? hits : ~hits);
+            if (present && !b.isInGame()) {
+                // the listeners are added in the same order as when the level was created.
+                b.removeHitListener(this.scoreTracking);
+                b.addHitListener(this.blockRemover);
+                b.addHitListener(this.scoreTracking);
+                b.addToGame(this);
+            } else if (!present && b.isInGame()) {
+                b.removeHitListener(this.blockRemover);
+                b.removeFromGame(this);
+            }
+        }
+        this.ballSystem.restore(in);
+    }
+
+    /**
+     * Restores the live state of the level from a given array, which was returned by snapshot.
+     *
+     * @param snapshot the given array.
+     */
+    public void restore(byte[] snapshot) {
+        this.restore(ByteBuffer.wrap(snapshot));
+    }
+
+    /**
+     * @param scale a given time scale.
+     * @return the time scale after the given one, or the first one after the last.
+     */
+    private static int nextTimeScale(int scale) {
+        for (int i = 0; i < TIME_SCALES.length - 1; i++) {
+            if (TIME_SCALES[i] == scale) {
+                return TIME_SCALES[i + 1];
+            }
+        }
+        return TIME_SCALES[0];
+    }
+
     /**
      * Set the pause's screen background images from given paths.
      *
@@ -342,7 +747,7 @@ public class GameLevel implements Animation {
         this.velocities = this.level.initialBallVelocities();
         for (int i = 0; i < this.level.numberOfBalls(); i++) {
             addBall((int) (this.width / 2) - this.radiusBall, this.paddleUpLeft.getY() - (this.radiusBall * 2),
-                    this.radiusBall, this.velocities.get(i));
+                    this.radiusBall, Velocity.scaled(this.velocities.get(i), this.stepFraction));
         }
     }
 
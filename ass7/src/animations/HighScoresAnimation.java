@@ -4,6 +4,7 @@ import biuoop.DrawSurface;
 import general.HighScoresTable;
 import general.ScoreInfo;
 import interfaces.Animation;
+import sprites.OutlinedTextCache;
 
 import javax.imageio.ImageIO;
 import java.awt.Color;
@@ -93,13 +94,7 @@ public class HighScoresAnimation implements Animation {
      * @param add   the addition for the background text.
      */
     private void makeFour(DrawSurface d, int x, int y, String text, Color cPrev, Color cCur, double add) {
-        d.setColor(cCur);
-        d.drawText((int) (x - add), y, text, (int) (this.size * add));
-        d.drawText((int) (x + add), y, text, (int) (this.size * add));
-        d.drawText(x, (int) (y - add), text, (int) (this.size * add));
-        d.drawText(x, (int) (y + add), text, (int) (this.size * add));
-        d.setColor(cPrev);
-        d.drawText(x, y, text, (int) (this.size * add));
+        OutlinedTextCache.getShared().draw(d, x, y, text, (int) (this.size * add), add, cPrev, cCur);
     }
 
     /**
@@ -3,6 +3,7 @@ package animations;
 import biuoop.DrawSurface;
 import biuoop.KeyboardSensor;
 import interfaces.Menu;
+import sprites.OutlinedTextCache;
 
 import javax.imageio.ImageIO;
 import java.awt.Color;
@@ -144,13 +145,7 @@ public class MenuAnimation<T> implements Menu<T> {
      * @param add   the addition for the background text.
      */
     private void makeFour(DrawSurface d, int x, int y, String text, Color cPrev, Color cCur, int add) {
-        d.setColor(cCur);
-        d.drawText(x - add, y, text, this.size * add);
-        d.drawText(x + add, y, text, this.size * add);
-        d.drawText(x, y - add, text, this.size * add);
-        d.drawText(x, y + add, text, this.size * add);
-        d.setColor(cPrev);
-        d.drawText(x, y, text, this.size * add);
+        OutlinedTextCache.getShared().draw(d, x, y, text, this.size * add, add, cPrev, cCur);
     }
 
     @Override
@@ -3,6 +3,7 @@ package animations.screens;
 import biuoop.DrawSurface;
 import general.Counter;
 import interfaces.Animation;
+import sprites.OutlinedTextCache;
 
 import javax.imageio.ImageIO;
 import java.awt.Color;
@@ -146,13 +147,7 @@ public class EndScreen implements Animation {
      * @param add   the addition for the background text.
      */
     private void makeFour(DrawSurface d, int x, int y, String text, Color cPrev, Color cCur, double add) {
-        d.setColor(cCur);
-        d.drawText((int) (x - add), y, text, (int) (this.size * add));
-        d.drawText((int) (x + add), y, text, (int) (this.size * add));
-        d.drawText(x, (int) (y - add), text, (int) (this.size * add));
-        d.drawText(x, (int) (y + add), text, (int) (this.size * add));
-        d.setColor(cPrev);
-        d.drawText(x, y, text, (int) (this.size * add));
+        OutlinedTextCache.getShared().draw(d, x, y, text, (int) (this.size * add), add, cPrev, cCur);
     }
 
     @Override
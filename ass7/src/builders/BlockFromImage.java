@@ -14,9 +14,7 @@ import java.util.Map;
 public class BlockFromImage implements BlockCreator {
     private int width;
     private int height;
-    private BufferedImage image;
-    private Map<Integer, Color> colorFillK;
-    private Map<Integer, BufferedImage> imageFillK;
+    private FillTable fills;
     private int hitPoints;
     private Color stroke;
 
@@ -35,18 +33,15 @@ public class BlockFromImage implements BlockCreator {
                           Map<Integer, BufferedImage> imageFillKCur, int hitPointsCur, Color strokeCur) {
         this.width = widthCur;
         this.height = heightCur;
-        this.image = imageCur;
-        this.colorFillK = colorFillKCur;
-        this.imageFillK = imageFillKCur;
+        // the fill definitions are compiled once, and the table is shared by all the blocks of this type.
+        this.fills = new FillTable(null, imageCur, colorFillKCur, imageFillKCur);
         this.hitPoints = hitPointsCur;
         this.stroke = strokeCur;
     }
 
     @Override
     public Block create(int xpos, int ypos) {
-        Block b = new Block(new Point(xpos, ypos), this.width, this.height, this.image);
-        b.setImages(this.imageFillK);
-        b.setColors(this.colorFillK);
+        Block b = new Block(new Point(xpos, ypos), this.width, this.height, this.fills);
         b.setStroke(this.stroke);
         b.setHits(this.hitPoints);
         return b;
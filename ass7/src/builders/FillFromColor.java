@@ -0,0 +1,28 @@
+package builders;
+
+import biuoop.DrawSurface;
+import interfaces.BlockFill;
+
+import java.awt.Color;
+
+/**
+ * The class for filling a block with a color.
+ */
+public class FillFromColor implements BlockFill {
+    private Color color;
+
+    /**
+     * The constructor for a new Fill from color, according the given color.
+     *
+     * @param c the given color.
+     */
+    public FillFromColor(Color c) {
+        this.color = c;
+    }
+
+    @Override
+    public void fill(DrawSurface d, int x, int y, int width, int height) {
+        d.setColor(this.color);
+        d.fillRectangle(x, y, width, height);
+    }
+}
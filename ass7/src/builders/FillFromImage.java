@@ -0,0 +1,27 @@
+package builders;
+
+import biuoop.DrawSurface;
+import interfaces.BlockFill;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * The class for filling a block with an image.
+ */
+public class FillFromImage implements BlockFill {
+    private BufferedImage image;
+
+    /**
+     * The constructor for a new Fill from image, according the given image.
+     *
+     * @param image the given image.
+     */
+    public FillFromImage(BufferedImage image) {
+        this.image = image;
+    }
+
+    @Override
+    public void fill(DrawSurface d, int x, int y, int width, int height) {
+        d.drawImage(x, y, this.image);
+    }
+}
@@ -0,0 +1,79 @@
+package builders;
+
+import interfaces.BlockFill;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The Fill table class.
+ * The fill definitions of a block type, compiled once to the fill of each hit points state, so a block is drawn
+ * by one array lookup instead of walking its definitions each frame.
+ * The table doesn't change, so it's shared by all the blocks of a type.
+ */
+public class FillTable {
+    private BlockFill[] fills;
+    private BlockFill base;
+
+    /**
+     * The constructor of a new Fill table, according a block type's fill definitions.
+     * The fill of a hit points state is its image or color, if it has one, and otherwise the block's fill.
+     * A block filled by a color takes the state's image first, and any other block takes the state's color first.
+     * A block filled by a color isn't filled in a state which has only a color, so only its stroke is drawn.
+     *
+     * @param color  the block's color fill, or null.
+     * @param image  the block's image fill, or null.
+     * @param colors the number of hit points to color fill map, or null.
+     * @param images the number of hit points to image fill map, or null.
+     */
+    public FillTable(Color color, BufferedImage image, Map<Integer, Color> colors,
+                     Map<Integer, BufferedImage> images) {
+        Map<Integer, BlockFill> colorFills = new HashMap<>();
+        Map<Integer, BlockFill> imageFills = new HashMap<>();
+        int length = 1;
+        if (colors != null) {
+            for (Map.Entry<Integer, Color> e : colors.entrySet()) {
+                colorFills.put(e.getKey(), color != null ? null : new FillFromColor(e.getValue()));
+                length = Math.max(length, e.getKey() + 1);
+            }
+        }
+        if (images != null) {
+            for (Map.Entry<Integer, BufferedImage> e : images.entrySet()) {
+                imageFills.put(e.getKey(), new FillFromImage(e.getValue()));
+                length = Math.max(length, e.getKey() + 1);
+            }
+        }
+        if (color != null) {
+            this.base = new FillFromColor(color);
+        } else if (image != null) {
+            this.base = new FillFromImage(image);
+        } else {
+            this.base = null;
+        }
+        Map<Integer, BlockFill> first = color != null ? imageFills : colorFills;
+        Map<Integer, BlockFill> second = color != null ? colorFills : imageFills;
+        this.fills = new BlockFill[length];
+        for (int k = 0; k < length; k++) {
+            if (first.containsKey(k)) {
+                this.fills[k] = first.get(k);
+            } else if (second.containsKey(k)) {
+                this.fills[k] = second.get(k);
+            } else {
+                this.fills[k] = this.base;
+            }
+        }
+    }
+
+    /**
+     * @param hitPoints the given number of hit points.
+     * @return the fill of a block with the given number of hit points, or null if it isn't filled.
+     */
+    public BlockFill get(int hitPoints) {
+        if (hitPoints >= 0 && hitPoints < this.fills.length) {
+            return this.fills[hitPoints];
+        }
+        return this.base;
+    }
+}
@@ -0,0 +1,467 @@
+package collections;
+
+import geometry.Rectangle;
+import geometry.SegmentHit;
+import interfaces.Collidable;
+import interfaces.CollisionIndex;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The Aabb tree class.
+ * It is a dynamic bounding volume hierarchy of axis aligned boxes, which holds collidables of any size and place.
+ * The tree is kept balanced while collidables are added and removed.
+ * A collidable which moved gets a "fat" box, which is bigger than its rectangle by a margin, so as long as it
+ * stays inside that box, it doesn't need to be inserted again.
+ */
+public class AabbTree implements CollisionIndex {
+    private static final int NULL = -1;
+    private double margin;
+    private int root;
+    private int capacity;
+    private int freeList;
+    private double[] minX;
+    private double[] minY;
+    private double[] maxX;
+    private double[] maxY;
+    private int[] parent;
+    private int[] left;
+    private int[] right;
+    private int[] height;
+    private Collidable[] items;
+    private Map<Collidable, Integer> leaves;
+    private int[] stack;
+    private SegmentHit candidate;
+
+    /**
+     * The constructor of a new Aabb tree.
+     *
+     * @param margin the margin which is added around the box of a collidable that moved.
+     */
+    public AabbTree(double margin) {
+        this.margin = margin;
+        this.root = NULL;
+        this.capacity = 0;
+        this.freeList = NULL;
+        this.leaves = new IdentityHashMap<>();
+        this.stack = new int[64];
+        this.candidate = new SegmentHit();
+        this.grow(16);
+    }
+
+    @Override
+    public boolean add(Collidable c) {
+        if (this.leaves.containsKey(c)) {
+            return true;
+        }
+        int leaf = this.allocate();
+        this.items[leaf] = c;
+        this.fit(leaf, c.getCollisionRectangle(), 0);
+        this.insertLeaf(leaf);
+        this.leaves.put(c, leaf);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Collidable c) {
+        Integer leaf = this.leaves.remove(c);
+        if (leaf == null) {
+            return false;
+        }
+        this.removeLeaf(leaf);
+        this.release(leaf);
+        return true;
+    }
+
+    @Override
+    public boolean update(Collidable c) {
+        Integer leaf = this.leaves.get(c);
+        if (leaf == null) {
+            return false;
+        }
+        Rectangle rect = c.getCollisionRectangle();
+        double x = rect.getMinX();
+        double y = rect.getMinY();
+        // the collidable is still inside its fat box.
+        if (x >= this.minX[leaf] && y >= this.minY[leaf]
+                && x + rect.getWidth() <= this.maxX[leaf] && y + rect.getHeight() <= this.maxY[leaf]) {
+            return true;
+        }
+        this.removeLeaf(leaf);
+        this.fit(leaf, rect, this.margin);
+        this.insertLeaf(leaf);
+        return true;
+    }
+
+    /**
+     * Search the tree for a collision of the given trajectory, which is closer than the closest hit found so far.
+     * A subtree is skipped when the trajectory enters its box after the closest hit.
+     *
+     * @param x0      the X coordinate of the trajectory's start.
+     * @param y0      the Y coordinate of the trajectory's start.
+     * @param dx      the change of the X coordinate along the trajectory.
+     * @param dy      the change of the Y coordinate along the trajectory.
+     * @param closest the closest hit found so far, which is replaced if a closer one is found.
+     * @return the collidable of the closer hit, or null if there isn't a closer hit.
+     */
+    @Override
+    public Collidable closestCollision(double x0, double y0, double dx, double dy, SegmentHit closest) {
+        if (this.root == NULL) {
+            return null;
+        }
+        Collidable best = null;
+        int top = 0;
+        this.stack[top++] = this.root;
+        while (top > 0) {
+            int node = this.stack[--top];
+            double entry = this.entry(node, x0, y0, dx, dy);
+            if (entry < 0 || entry > closest.getT()) {
+                continue;
+            }
+            if (this.left[node] == NULL) {
+                Collidable c = this.items[node];
+                if (c.getCollisionRectangle().intersectSegment(x0, y0, dx, dy, this.candidate)
+                        && this.candidate.getT() < closest.getT()) {
+                    closest.set(this.candidate);
+                    best = c;
+                }
+                continue;
+            }
+            if (top + 2 > this.stack.length) {
+                int[] grown = new int[this.stack.length * 2];
+                System.arraycopy(this.stack, 0, grown, 0, top);
+                this.stack = grown;
+            }
+            this.stack[top++] = this.left[node];
+            this.stack[top++] = this.right[node];
+        }
+        return best;
+    }
+
+    /**
+     * Calculates where the given segment enters the box of a given node (the slab method).
+     *
+     * @param node the given node.
+     * @param x0   the X coordinate of the segment's start.
+     * @param y0   the Y coordinate of the segment's start.
+     * @param dx   the change of the X coordinate along the segment.
+     * @param dy   the change of the Y coordinate along the segment.
+     * @return the segment's parameter at the entry point (0 if it starts inside), or -1 if it misses the box.
+     */
+    private double entry(int node, double x0, double y0, double dx, double dy) {
+        double tMin = 0;
+        double tMax = 1;
+        if (dx == 0) {
+            if (x0 < this.minX[node] || x0 > this.maxX[node]) {
+                return -1;
+            }
+        } else {
+            double t1 = (this.minX[node] - x0) / dx;
+            double t2 = (this.maxX[node] - x0) / dx;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+        }
+        if (dy == 0) {
+            if (y0 < this.minY[node] || y0 > this.maxY[node]) {
+                return -1;
+            }
+        } else {
+            double t1 = (this.minY[node] - y0) / dy;
+            double t2 = (this.maxY[node] - y0) / dy;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+        }
+        if (tMin > tMax) {
+            return -1;
+        }
+        return tMin;
+    }
+
+    /**
+     * Sets the box of a given leaf to the given rectangle, grown by the given margin.
+     *
+     * @param leaf  the given leaf.
+     * @param rect  the given rectangle.
+     * @param extra the given margin.
+     */
+    private void fit(int leaf, Rectangle rect, double extra) {
+        this.minX[leaf] = rect.getMinX() - extra;
+        this.minY[leaf] = rect.getMinY() - extra;
+        this.maxX[leaf] = rect.getMinX() + rect.getWidth() + extra;
+        this.maxY[leaf] = rect.getMinY() + rect.getHeight() + extra;
+    }
+
+    /**
+     * Calculates the perimeter of the box which bounds two given nodes.
+     * The perimeter is the cost of a box, when choosing where to insert a leaf.
+     *
+     * @param a the first node.
+     * @param b the second node.
+     * @return the perimeter.
+     */
+    private double combinedPerimeter(int a, int b) {
+        double w = Math.max(this.maxX[a], this.maxX[b]) - Math.min(this.minX[a], this.minX[b]);
+        double h = Math.max(this.maxY[a], this.maxY[b]) - Math.min(this.minY[a], this.minY[b]);
+        return 2 * (w + h);
+    }
+
+    /**
+     * @param node the given node.
+     * @return the perimeter of the given node's box.
+     */
+    private double perimeter(int node) {
+        return 2 * ((this.maxX[node] - this.minX[node]) + (this.maxY[node] - this.minY[node]));
+    }
+
+    /**
+     * Insert a given leaf to the tree, next to the sibling which makes the cheapest tree.
+     *
+     * @param leaf the given leaf.
+     */
+    private void insertLeaf(int leaf) {
+        if (this.root == NULL) {
+            this.root = leaf;
+            this.parent[leaf] = NULL;
+            return;
+        }
+        int index = this.root;
+        while (this.left[index] != NULL) {
+            double combined = this.combinedPerimeter(index, leaf);
+            double cost = 2 * combined;
+            // the cost of pushing the leaf further down the tree.
+            double inheritance = 2 * (combined - this.perimeter(index));
+            double costLeft = this.descendCost(this.left[index], leaf) + inheritance;
+            double costRight = this.descendCost(this.right[index], leaf) + inheritance;
+            if (cost < costLeft && cost < costRight) {
+                break;
+            }
+            index = costLeft < costRight ? this.left[index] : this.right[index];
+        }
+        int sibling = index;
+        int oldParent = this.parent[sibling];
+        int newParent = this.allocate();
+        this.parent[newParent] = oldParent;
+        this.left[newParent] = sibling;
+        this.right[newParent] = leaf;
+        this.parent[sibling] = newParent;
+        this.parent[leaf] = newParent;
+        if (oldParent == NULL) {
+            this.root = newParent;
+        } else if (this.left[oldParent] == sibling) {
+            this.left[oldParent] = newParent;
+        } else {
+            this.right[oldParent] = newParent;
+        }
+        this.refitUpwards(newParent);
+    }
+
+    /**
+     * @param child the child which the leaf may descend into.
+     * @param leaf  the inserted leaf.
+     * @return the cost of descending into the given child.
+     */
+    private double descendCost(int child, int leaf) {
+        if (this.left[child] == NULL) {
+            return this.combinedPerimeter(child, leaf);
+        }
+        return this.combinedPerimeter(child, leaf) - this.perimeter(child);
+    }
+
+    /**
+     * Remove a given leaf from the tree. Its parent is removed too, and the leaf's sibling takes its place.
+     *
+     * @param leaf the given leaf.
+     */
+    private void removeLeaf(int leaf) {
+        if (leaf == this.root) {
+            this.root = NULL;
+            return;
+        }
+        int oldParent = this.parent[leaf];
+        int grandParent = this.parent[oldParent];
+        int sibling = this.left[oldParent] == leaf ? this.right[oldParent] : this.left[oldParent];
+        if (grandParent == NULL) {
+            this.root = sibling;
+            this.parent[sibling] = NULL;
+        } else {
+            if (this.left[grandParent] == oldParent) {
+                this.left[grandParent] = sibling;
+            } else {
+                this.right[grandParent] = sibling;
+            }
+            this.parent[sibling] = grandParent;
+            this.refitUpwards(grandParent);
+        }
+        this.release(oldParent);
+    }
+
+    /**
+     * Balance and refit the boxes and heights of the given node and all of its ancestors.
+     *
+     * @param start the given node.
+     */
+    private void refitUpwards(int start) {
+        int index = start;
+        while (index != NULL) {
+            index = this.balance(index);
+            this.refit(index);
+            index = this.parent[index];
+        }
+    }
+
+    /**
+     * Recalculates the box and the height of a given inner node from its children.
+     *
+     * @param node the given node.
+     */
+    private void refit(int node) {
+        int a = this.left[node];
+        int b = this.right[node];
+        this.minX[node] = Math.min(this.minX[a], this.minX[b]);
+        this.minY[node] = Math.min(this.minY[a], this.minY[b]);
+        this.maxX[node] = Math.max(this.maxX[a], this.maxX[b]);
+        this.maxY[node] = Math.max(this.maxY[a], this.maxY[b]);
+        this.height[node] = 1 + Math.max(this.height[a], this.height[b]);
+    }
+
+    /**
+     * If one child of the given node is deeper than the other by more than one level,
+     * rotate the deeper child up.
+     *
+     * @param a the given node.
+     * @return the node which is at the given node's place after the balancing.
+     */
+    private int balance(int a) {
+        if (this.left[a] == NULL || this.height[a] < 2) {
+            return a;
+        }
+        int b = this.left[a];
+        int c = this.right[a];
+        int diff = this.height[c] - this.height[b];
+        if (diff > 1) {
+            return this.rotateUp(a, c, b);
+        }
+        if (diff < -1) {
+            return this.rotateUp(a, b, c);
+        }
+        return a;
+    }
+
+    /**
+     * Rotate the given deep child of a node up, in place of the node.
+     * The node gets the shallow child and the shallower grandchild, and the deep child keeps the other grandchild.
+     *
+     * @param a       the given node.
+     * @param deep    the deeper child.
+     * @param shallow the other child.
+     * @return the deep child, which is now at the node's place.
+     */
+    private int rotateUp(int a, int deep, int shallow) {
+        int f = this.left[deep];
+        int g = this.right[deep];
+        this.left[deep] = a;
+        this.parent[deep] = this.parent[a];
+        this.parent[a] = deep;
+        if (this.parent[deep] == NULL) {
+            this.root = deep;
+        } else if (this.left[this.parent[deep]] == a) {
+            this.left[this.parent[deep]] = deep;
+        } else {
+            this.right[this.parent[deep]] = deep;
+        }
+        int keep = f;
+        int move = g;
+        if (this.height[f] < this.height[g]) {
+            keep = g;
+            move = f;
+        }
+        this.right[deep] = keep;
+        this.left[a] = shallow;
+        this.right[a] = move;
+        this.parent[move] = a;
+        this.refit(a);
+        this.refit(deep);
+        return deep;
+    }
+
+    /**
+     * @return a free node, taken from the free list.
+     */
+    private int allocate() {
+        if (this.freeList == NULL) {
+            this.grow(this.capacity * 2);
+        }
+        int node = this.freeList;
+        this.freeList = this.parent[node];
+        this.parent[node] = NULL;
+        this.left[node] = NULL;
+        this.right[node] = NULL;
+        this.height[node] = 0;
+        this.items[node] = null;
+        return node;
+    }
+
+    /**
+     * Return a given node to the free list.
+     *
+     * @param node the given node.
+     */
+    private void release(int node) {
+        this.items[node] = null;
+        this.parent[node] = this.freeList;
+        this.freeList = node;
+    }
+
+    /**
+     * Grow the node arrays to the given capacity, and add the new nodes to the free list.
+     *
+     * @param newCapacity the given capacity.
+     */
+    private void grow(int newCapacity) {
+        this.minX = copy(this.minX, newCapacity);
+        this.minY = copy(this.minY, newCapacity);
+        this.maxX = copy(this.maxX, newCapacity);
+        this.maxY = copy(this.maxY, newCapacity);
+        this.parent = copy(this.parent, newCapacity);
+        this.left = copy(this.left, newCapacity);
+        this.right = copy(this.right, newCapacity);
+        this.height = copy(this.height, newCapacity);
+        Collidable[] grownItems = new Collidable[newCapacity];
+        if (this.items != null) {
+            System.arraycopy(this.items, 0, grownItems, 0, this.capacity);
+        }
+        this.items = grownItems;
+        for (int i = newCapacity - 1; i >= this.capacity; i--) {
+            this.parent[i] = this.freeList;
+            this.freeList = i;
+        }
+        this.capacity = newCapacity;
+    }
+
+    /**
+     * @param array    the given array, may be null.
+     * @param capacity the new length.
+     * @return a copy of the given array with the new length.
+     */
+    private static double[] copy(double[] array, int capacity) {
+        double[] grown = new double[capacity];
+        if (array != null) {
+            System.arraycopy(array, 0, grown, 0, array.length);
+        }
+        return grown;
+    }
+
+    /**
+     * @param array    the given array, may be null.
+     * @param capacity the new length.
+     * @return a copy of the given array with the new length.
+     */
+    private static int[] copy(int[] array, int capacity) {
+        int[] grown = new int[capacity];
+        if (array != null) {
+            System.arraycopy(array, 0, grown, 0, array.length);
+        }
+        return grown;
+    }
+}
@@ -0,0 +1,181 @@
+package collections;
+
+import geometry.Rectangle;
+import geometry.SegmentHit;
+import interfaces.Collidable;
+import interfaces.CollisionIndex;
+import interfaces.RayBoxKernel;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The Batch index class.
+ * It keeps the bounds of the collidables in separate arrays (minX, minY, maxX, maxY), and tests the trajectory
+ * against all of them together by a ray box kernel.
+ * The vector kernel, which tests a few boxes in one instruction, is used if the JDK's vector module is present,
+ * and the scalar kernel otherwise.
+ */
+public class BatchIndex implements CollisionIndex {
+    private static final String VECTOR_KERNEL = "collections.VectorRayBoxKernel";
+    private RayBoxKernel kernel;
+    private int count;
+    private Collidable[] items;
+    private double[] minX;
+    private double[] minY;
+    private double[] maxX;
+    private double[] maxY;
+    private Map<Collidable, Integer> slots;
+    private double[] ray;
+    private SegmentHit candidate;
+
+    /**
+     * The constructor of a new Batch index, with the best kernel which can be loaded.
+     */
+    public BatchIndex() {
+        this(loadKernel());
+    }
+
+    /**
+     * The constructor of a new Batch index, with a given kernel.
+     *
+     * @param kernel the given kernel.
+     */
+    public BatchIndex(RayBoxKernel kernel) {
+        this.kernel = kernel;
+        this.count = 0;
+        this.items = new Collidable[16];
+        this.minX = new double[16];
+        this.minY = new double[16];
+        this.maxX = new double[16];
+        this.maxY = new double[16];
+        this.slots = new IdentityHashMap<>();
+        this.ray = new double[4];
+        this.candidate = new SegmentHit();
+    }
+
+    /**
+     * Loads the vector kernel, which needs the jdk.incubator.vector module and is compiled apart from the game.
+     * If it can't be loaded, the scalar kernel is used.
+     *
+     * @return the best kernel which can be loaded.
+     */
+    public static RayBoxKernel loadKernel() {
+        try {
+            return (RayBoxKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (Exception | LinkageError e) {
+            return new ScalarRayBoxKernel();
+        }
+    }
+
+    /**
+     * @return the kernel the index tests the boxes with.
+     */
+    public RayBoxKernel getKernel() {
+        return this.kernel;
+    }
+
+    @Override
+    public boolean add(Collidable c) {
+        if (this.slots.containsKey(c)) {
+            return true;
+        }
+        if (this.count == this.items.length) {
+            this.grow();
+        }
+        this.items[this.count] = c;
+        this.slots.put(c, this.count);
+        this.setBounds(this.count);
+        this.count++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Collidable c) {
+        Integer slot = this.slots.remove(c);
+        if (slot == null) {
+            return false;
+        }
+        // the last collidable is moved to the removed one's slot.
+        this.count--;
+        if (slot != this.count) {
+            this.items[slot] = this.items[this.count];
+            this.minX[slot] = this.minX[this.count];
+            this.minY[slot] = this.minY[this.count];
+            this.maxX[slot] = this.maxX[this.count];
+            this.maxY[slot] = this.maxY[this.count];
+            this.slots.put(this.items[slot], slot);
+        }
+        this.items[this.count] = null;
+        return true;
+    }
+
+    @Override
+    public boolean update(Collidable c) {
+        Integer slot = this.slots.get(c);
+        if (slot == null) {
+            return false;
+        }
+        this.setBounds(slot);
+        return true;
+    }
+
+    /**
+     * The kernel finds the nearest box, and the hit on it is found again by its rectangle,
+     * so the hit point and side are exactly the same as in the other ways of search.
+     *
+     * @param x0      the X coordinate of the trajectory's start.
+     * @param y0      the Y coordinate of the trajectory's start.
+     * @param dx      the change of the X coordinate along the trajectory.
+     * @param dy      the change of the Y coordinate along the trajectory.
+     * @param closest the closest hit found so far, which is replaced if a closer one is found.
+     * @return the collidable of the closer hit, or null if there isn't a closer hit.
+     */
+    @Override
+    public Collidable closestCollision(double x0, double y0, double dx, double dy, SegmentHit closest) {
+        this.ray[0] = x0;
+        this.ray[1] = y0;
+        this.ray[2] = dx;
+        this.ray[3] = dy;
+        int best = this.kernel.nearest(this.ray, this.minX, this.minY, this.maxX, this.maxY, this.count,
+                closest.getT());
+        if (best < 0) {
+            return null;
+        }
+        Collidable c = this.items[best];
+        if (c.getCollisionRectangle().intersectSegment(x0, y0, dx, dy, this.candidate)
+                && this.candidate.getT() < closest.getT()) {
+            closest.set(this.candidate);
+            return c;
+        }
+        return null;
+    }
+
+    /**
+     * Copies the bounds of the collidable in a given slot to the arrays.
+     *
+     * @param slot the given slot.
+     */
+    private void setBounds(int slot) {
+        Rectangle rect = this.items[slot].getCollisionRectangle();
+        this.minX[slot] = rect.getMinX();
+        this.minY[slot] = rect.getMinY();
+        this.maxX[slot] = rect.getMaxX();
+        this.maxY[slot] = rect.getMaxY();
+    }
+
+    /**
+     * Doubles the size of the arrays.
+     */
+    private void grow() {
+        int size = this.items.length * 2;
+        Collidable[] grown = new Collidable[size];
+        System.arraycopy(this.items, 0, grown, 0, this.count);
+        this.items = grown;
+        this.minX = Arrays.copyOf(this.minX, size);
+        this.minY = Arrays.copyOf(this.minY, size);
+        this.maxX = Arrays.copyOf(this.maxX, size);
+        this.maxY = Arrays.copyOf(this.maxY, size);
+    }
+}
@@ -0,0 +1,171 @@
+package collections;
+
+/**
+ * The Dirty regions class.
+ * The rectangles of the screen which changed since the last frame, and have to be drawn again.
+ * Each rectangle is kept as its bounds, the minimums inclusive and the maximums exclusive, cut to the screen.
+ * The rectangles are kept in an array which is reused, so marking the regions of a frame doesn't create objects.
+ * At most a fixed number of rectangles is kept, past it all the screen is one region, so a frame of many moving
+ * sprites doesn't pile up small regions, and isn't drawn by regions at all.
+ */
+public class DirtyRegions {
+    // at most this number of rectangles is kept, past it all the screen is one region.
+    private static final int MAX_REGIONS = 64;
+    private int width;
+    private int height;
+    private int[] rects;
+    private int count;
+    private boolean all;
+
+    /**
+     * The constructor of new, empty, Dirty regions.
+     *
+     * @param width  the screen's width.
+     * @param height the screen's height.
+     */
+    public DirtyRegions(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.rects = new int[MAX_REGIONS * 4];
+        this.count = 0;
+        this.all = false;
+    }
+
+    /**
+     * Adds a given rectangle to the regions.
+     *
+     * @param minX the left bound of the rectangle.
+     * @param minY the up bound of the rectangle.
+     * @param maxX the right bound of the rectangle.
+     * @param maxY the down bound of the rectangle.
+     */
+    public void add(int minX, int minY, int maxX, int maxY) {
+        int x0 = Math.max(0, minX);
+        int y0 = Math.max(0, minY);
+        int x1 = Math.min(this.width, maxX);
+        int y1 = Math.min(this.height, maxY);
+        if (this.all || x0 >= x1 || y0 >= y1) {
+            return;
+        }
+        if (this.count == MAX_REGIONS) {
+            this.addAll();
+            return;
+        }
+        int i = this.count * 4;
+        this.rects[i] = x0;
+        this.rects[i + 1] = y0;
+        this.rects[i + 2] = x1;
+        this.rects[i + 3] = y1;
+        this.count++;
+    }
+
+    /**
+     * Adds all the screen to the regions.
+     */
+    public void addAll() {
+        // all the screen is one region, which covers every rectangle added to it, until the regions are cleared.
+        this.rects[0] = 0;
+        this.rects[1] = 0;
+        this.rects[2] = this.width;
+        this.rects[3] = this.height;
+        this.count = 1;
+        this.all = true;
+    }
+
+    /**
+     * @return true if all the screen is one region, and false otherwise.
+     */
+    public boolean isAll() {
+        return this.all;
+    }
+
+    /**
+     * Removes all the rectangles.
+     */
+    public void clear() {
+        this.count = 0;
+        this.all = false;
+    }
+
+    /**
+     * @return the number of rectangles.
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * @param i the index of a given rectangle.
+     * @return the left bound of the given rectangle.
+     */
+    public int getMinX(int i) {
+        return this.rects[i * 4];
+    }
+
+    /**
+     * @param i the index of a given rectangle.
+     * @return the up bound of the given rectangle.
+     */
+    public int getMinY(int i) {
+        return this.rects[i * 4 + 1];
+    }
+
+    /**
+     * @param i the index of a given rectangle.
+     * @return the right bound of the given rectangle.
+     */
+    public int getMaxX(int i) {
+        return this.rects[i * 4 + 2];
+    }
+
+    /**
+     * @param i the index of a given rectangle.
+     * @return the down bound of the given rectangle.
+     */
+    public int getMaxY(int i) {
+        return this.rects[i * 4 + 3];
+    }
+
+    /**
+     * Merges every two rectangles which overlap into the rectangle which bounds both, until no two overlap,
+     * so no pixel is drawn twice.
+     */
+    public void merge() {
+        if (this.all) {
+            return;
+        }
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < this.count; i++) {
+                int a = i * 4;
+                for (int j = i + 1; j < this.count; j++) {
+                    int b = j * 4;
+                    if (this.rects[a] < this.rects[b + 2] && this.rects[b] < this.rects[a + 2]
+                            && this.rects[a + 1] < this.rects[b + 3] && this.rects[b + 1] < this.rects[a + 3]) {
+                        this.rects[a] = Math.min(this.rects[a], this.rects[b]);
+                        this.rects[a + 1] = Math.min(this.rects[a + 1], this.rects[b + 1]);
+                        this.rects[a + 2] = Math.max(this.rects[a + 2], this.rects[b + 2]);
+                        this.rects[a + 3] = Math.max(this.rects[a + 3], this.rects[b + 3]);
+                        // the last rectangle takes the merged one's place, and is checked next.
+                        this.count--;
+                        System.arraycopy(this.rects, this.count * 4, this.rects, b, 4);
+                        j--;
+                        merged = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of pixels in the rectangles.
+     */
+    public long pixels() {
+        long sum = 0;
+        for (int i = 0; i < this.count * 4; i += 4) {
+            sum += (long) (this.rects[i + 2] - this.rects[i]) * (this.rects[i + 3] - this.rects[i + 1]);
+        }
+        return sum;
+    }
+}
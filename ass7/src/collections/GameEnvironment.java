@@ -2,32 +2,187 @@ package collections;
 
 import geometry.Line;
 import geometry.Point;
+import geometry.SegmentHit;
 import interfaces.Collidable;
+import interfaces.CollisionIndex;
+import sprites.Ball;
 import sprites.colliadables.CollisionInfo;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Set;
 
 /**
  * The Game environment class.
  * This class holds a collection of objects a sprites.Ball can collides with.
+ * The static collidables (blocks, borders) are kept apart from the dynamic ones (the paddle), which move every frame.
  */
 public class GameEnvironment {
-    private List<Collidable> collidables;
+    /**
+     * The ways the game environment can search for the closest collision.
+     */
+    public enum Mode {
+        /**
+         * Check every collidable.
+         */
+        LINEAR,
+        /**
+         * Walk through the cells of the level's lattice, and check every collidable which isn't on the lattice.
+         */
+        LATTICE,
+        /**
+         * Search a bounding volume hierarchy of all the collidables.
+         */
+        TREE,
+        /**
+         * Sweep the intervals of all the balls and collidables once a frame, so each ball checks only the
+         * collidables near its movement.
+         */
+        SWEEP,
+        /**
+         * Test the trajectory against the bounds of all the collidables together, by a vector kernel if the JDK's
+         * vector module is present, and by a scalar one otherwise.
+         */
+        BATCH
+    }
+
+    private static final double TREE_MARGIN = 10;
+    private Collection<Collidable> collidables;
+    private List<Collidable> unindexed;
+    private Collidable[] unindexedView;
+    private int version;
+    private int viewVersion;
+    private List<Collidable> dynamics;
+    private Set<Collidable> pending;
+    private boolean inFrame;
+    private Collection<Ball> balls;
+    private CollisionIndex index;
+    private SweepAndPrune sweeper;
+    private Mode mode;
+    private double[] lattice;
+    private SegmentHit closest;
+    private SegmentHit candidate;
 
     /**
-     * @return the collidabble's list.
+     * @return the collidables, in the order they were added.
      */
-    public List<Collidable> getList() {
+    public Collection<Collidable> getList() {
         return collidables;
     }
 
+    /**
+     * @return the balls, whose movements are searched for collisions, in the order they were added.
+     */
+    public Collection<Ball> getBalls() {
+        return this.balls;
+    }
+
+    /**
+     * @return the list of the dynamic collidables, which move every frame.
+     */
+    public List<Collidable> getDynamicList() {
+        return this.dynamics;
+    }
+
     /**
      * The constructor of the game environment.
      * It initializes game environment's array list, which is the list of objects a Ball can collides with.
      */
     public GameEnvironment() {
-        this.collidables = new ArrayList<Collidable>();
+        // a set, so a removed block isn't searched for among all the blocks.
+        this.collidables = new LinkedHashSet<Collidable>();
+        this.unindexed = new ArrayList<Collidable>();
+        this.unindexedView = new Collidable[0];
+        this.version = 0;
+        this.viewVersion = 0;
+        this.dynamics = new ArrayList<Collidable>();
+        // a set, so the search of every ball skips the removed collidables without searching for them.
+        this.pending = new HashSet<Collidable>();
+        this.inFrame = false;
+        // a set, so a ball is removed without a search, even when there are thousands of balls.
+        this.balls = new LinkedHashSet<Ball>();
+        this.index = null;
+        this.sweeper = null;
+        this.mode = Mode.LATTICE;
+        this.lattice = null;
+        this.closest = new SegmentHit();
+        this.candidate = new SegmentHit();
+    }
+
+    /**
+     * Sets the way the game environment searches for the closest collision,
+     * and moves all the collidables to the matching index.
+     *
+     * @param m the given mode.
+     */
+    public void setMode(Mode m) {
+        this.mode = m;
+        this.rebuild();
+    }
+
+    /**
+     * @return the way the game environment searches for the closest collision.
+     */
+    public Mode getMode() {
+        return this.mode;
+    }
+
+    /**
+     * Creates the index of the current mode, and adds to it all the collidables.
+     * The static collidables the index can't hold are checked one by one.
+     */
+    private void rebuild() {
+        this.index = null;
+        this.sweeper = null;
+        if (this.mode == Mode.TREE) {
+            this.index = new AabbTree(TREE_MARGIN);
+        }
+        if (this.mode == Mode.BATCH) {
+            this.index = new BatchIndex();
+        }
+        if (this.mode == Mode.SWEEP) {
+            this.sweeper = new SweepAndPrune();
+            this.index = this.sweeper;
+            for (Ball b : this.balls) {
+                this.sweeper.addBall(b);
+            }
+        }
+        if (this.mode == Mode.LATTICE && this.lattice != null) {
+            this.index = new LatticeGrid(this.lattice[0], this.lattice[1], this.lattice[2], this.lattice[3],
+                    (int) this.lattice[4], (int) this.lattice[5]);
+        }
+        this.unindexed.clear();
+        this.version++;
+        for (Collidable c : this.collidables) {
+            if (this.dynamics.contains(c)) {
+                continue;
+            }
+            if (this.index == null || !this.index.add(c)) {
+                this.unindexed.add(c);
+            }
+        }
+    }
+
+    /**
+     * Sets the lattice the level's blocks are placed on.
+     * In the lattice mode, collidables which are added after the lattice is set, and are fully inside it,
+     * are kept in an occupancy grid, so the search for a collision checks only the cells the trajectory crosses.
+     *
+     * @param x          the X coordinate of the lattice's upper left corner.
+     * @param y          the Y coordinate of the lattice's upper left corner.
+     * @param cellWidth  the width of each cell.
+     * @param cellHeight the height of each cell.
+     * @param cols       the number of columns.
+     * @param rows       the number of rows.
+     */
+    public void setLattice(double x, double y, double cellWidth, double cellHeight, int cols, int rows) {
+        this.lattice = new double[]{x, y, cellWidth, cellHeight, cols, rows};
+        if (this.mode == Mode.LATTICE) {
+            this.rebuild();
+        }
     }
 
     /**
@@ -37,15 +192,109 @@ public class GameEnvironment {
      */
     public void addCollidable(Collidable c) {
         this.collidables.add(c);
+        if (this.index == null || !this.index.add(c)) {
+            this.unindexed.add(c);
+            this.version++;
+        }
+    }
+
+    /**
+     * Add a given dynamic object, which a Ball can collides with, and moves every frame.
+     * It is never put in an index, and every search checks it.
+     *
+     * @param c the given object.
+     */
+    public void addDynamicCollidable(Collidable c) {
+        this.collidables.add(c);
+        this.dynamics.add(c);
     }
 
     /**
      * Removes a given objects, which a Ball can collides with, from the game environment's collection.
+     * A removal during a frame (from a hit's listener) is not searched anymore, but the collidables which are
+     * checked one by one are copied again only once, at the end of the frame.
      *
      * @param c the given object.
      */
     public void removeCollidable(Collidable c) {
-        this.collidables.remove(c);
+        if (!this.collidables.remove(c)) {
+            return;
+        }
+        if (this.dynamics.remove(c)) {
+            return;
+        }
+        if (this.index != null && this.index.remove(c)) {
+            return;
+        }
+        if (this.inFrame) {
+            this.pending.add(c);
+        } else {
+            this.unindexed.remove(c);
+            this.version++;
+        }
+    }
+
+    /**
+     * Add a given ball, whose movement is searched for collisions every frame.
+     *
+     * @param b the given ball.
+     */
+    public void addBall(Ball b) {
+        this.balls.add(b);
+        if (this.sweeper != null) {
+            this.sweeper.addBall(b);
+        }
+    }
+
+    /**
+     * Removes a given ball.
+     *
+     * @param b the given ball.
+     */
+    public void removeBall(Ball b) {
+        this.balls.remove(b);
+        if (this.sweeper != null) {
+            this.sweeper.removeBall(b);
+        }
+    }
+
+    /**
+     * Prepares the search for the collisions of the next frame's movements.
+     * In the sweep mode, it finds the collidables near each ball's movement, in one sweep for all the balls.
+     */
+    public void prepareFrame() {
+        this.inFrame = true;
+        if (this.sweeper != null) {
+            this.sweeper.sweep();
+        }
+    }
+
+    /**
+     * Ends the frame, and applies the removals which were made during it.
+     */
+    public void endFrame() {
+        this.inFrame = false;
+        if (this.pending.isEmpty()) {
+            return;
+        }
+        this.unindexed.removeAll(this.pending);
+        this.pending.clear();
+        this.version++;
+    }
+
+    /**
+     * Updates the game environment after the rectangle of a given collidable was moved.
+     *
+     * @param c the given collidable.
+     */
+    public void collidableMoved(Collidable c) {
+        if (this.index == null || this.dynamics.contains(c) || this.unindexed.contains(c)) {
+            return;
+        }
+        if (!this.index.update(c)) {
+            this.unindexed.add(c);
+            this.version++;
+        }
     }
 
     /**
@@ -53,39 +302,113 @@ public class GameEnvironment {
      * and return the info about the closest one.
      * The return info is the collision point and the object the ball Collided with.
      * If the ball didn't collide with any of the collidables, in this collection, return null.
+     * The collidables in the index of the current mode are searched by the index.
+     * Each collidable is checked by the rectangle's slab test, so no objects are created until the closest
+     * collision is known.
      *
      * @param trajectory the movement of the ball.
      * @return the information about the closest collision.
      */
     public CollisionInfo getClosestCollision(Line trajectory) {
-        // when flag is 0, it means that no collision found so far.
-        int flag = 0;
-        Point collision = null;
-        CollisionInfo colInfo = null;
-        double minLength = 0;
-        double currentLength = 0;
-        List<Collidable> temp = new ArrayList<>(this.collidables);
-        // In the loop, we search the ball's collisions with the colliadable objects.
-        for (Collidable c : temp) {
-            collision = trajectory.closestIntersectionToStartOfLine(c.getCollisionRectangle());
-            // there was a collision between the ball and the current colliadable object.
-            if (collision != null) {
-                // calculates the distance the ball made from his start position to the collision point.
-                currentLength = collision.distance(trajectory.start());
-                // no collision found yet.
-                if (flag == 0) {
-                    flag = 1;
-                    minLength = currentLength;
-                    colInfo = new CollisionInfo(collision, c);
-                } else {
-                    // the current collision is closer than the previous closest collision found until now.
-                    if (currentLength < minLength) {
-                        minLength = currentLength;
-                        colInfo = new CollisionInfo(collision, c);
-                    }
+        return this.getClosestCollision(trajectory, null);
+    }
+
+    /**
+     * The method returns the info about the closest collision of a given ball's movement.
+     * In the sweep mode, only the collidables found near the ball's movement in this frame's sweep are checked,
+     * unless the ball moved away from where it was swept.
+     *
+     * @param trajectory the movement of the ball.
+     * @param ball       the ball, or null if the trajectory isn't of a known ball.
+     * @return the information about the closest collision.
+     */
+    public CollisionInfo getClosestCollision(Line trajectory, Ball ball) {
+        double x0 = trajectory.start().getX();
+        double y0 = trajectory.start().getY();
+        SegmentHit hit = new SegmentHit();
+        Collidable colObject = this.closestCollision(x0, y0, trajectory.end().getX() - x0,
+                trajectory.end().getY() - y0, ball, hit);
+        if (colObject == null) {
+            return null;
+        }
+        return new CollisionInfo(new Point(hit.getX(), hit.getY()), colObject);
+    }
+
+    /**
+     * Finds the closest collision of a given ball's movement, without creating new objects.
+     * The movement is given by its start point and the change of the coordinates along it.
+     *
+     * @param x0   the X coordinate of the movement's start.
+     * @param y0   the Y coordinate of the movement's start.
+     * @param dx   the change of the X coordinate along the movement.
+     * @param dy   the change of the Y coordinate along the movement.
+     * @param ball the ball, or null if the movement isn't of a known ball.
+     * @param hit  the holder the closest collision point is written to, if there is one.
+     * @return the collidable of the closest collision, or null if there is no collision.
+     */
+    public Collidable closestCollision(double x0, double y0, double dx, double dy, Ball ball, SegmentHit hit) {
+        this.closest.reset();
+        Collidable colObject = null;
+        for (int i = 0; i < this.dynamics.size(); i++) {
+            if (this.check(this.dynamics.get(i), x0, y0, dx, dy)) {
+                this.closest.set(this.candidate);
+                colObject = this.dynamics.get(i);
+            }
+        }
+        // the index's collisions replace the one found so far, only if they're closer.
+        Collidable indexObject = null;
+        if (ball != null && this.sweeper != null && this.sweeper.covers(ball, x0, y0, dx, dy)) {
+            indexObject = this.sweeper.closestCollision(ball, x0, y0, dx, dy, this.closest);
+        } else {
+            Collidable[] view = this.unindexedView();
+            // In the loop, we search the ball's collisions with the colliadable objects.
+            for (int i = 0; i < view.length; i++) {
+                // the collidables which were removed in this frame are skipped.
+                if (this.check(view[i], x0, y0, dx, dy)
+                        && (this.pending.isEmpty() || !this.pending.contains(view[i]))) {
+                    this.closest.set(this.candidate);
+                    colObject = view[i];
                 }
             }
+            if (this.index != null) {
+                indexObject = this.index.closestCollision(x0, y0, dx, dy, this.closest);
+            }
         }
-        return colInfo;
+        if (indexObject != null) {
+            colObject = indexObject;
+        }
+        if (colObject != null) {
+            hit.set(this.closest);
+        }
+        return colObject;
+    }
+
+    /**
+     * Returns the copy of the collidables which are checked one by one.
+     * The copy is made again only when they were changed since the last copy.
+     *
+     * @return the copy of the unindexed collidables.
+     */
+    private Collidable[] unindexedView() {
+        if (this.viewVersion != this.version) {
+            this.unindexedView = this.unindexed.toArray(new Collidable[this.unindexed.size()]);
+            this.viewVersion = this.version;
+        }
+        return this.unindexedView;
+    }
+
+    /**
+     * Checks a given collidable for a collision of the trajectory, closer than the closest one found so far.
+     *
+     * @param c  the given collidable.
+     * @param x0 the X coordinate of the trajectory's start.
+     * @param y0 the Y coordinate of the trajectory's start.
+     * @param dx the change of the X coordinate along the trajectory.
+     * @param dy the change of the Y coordinate along the trajectory.
+     * @return true if there is a closer collision, which is kept in the candidate hit, and false otherwise.
+     */
+    private boolean check(Collidable c, double x0, double y0, double dx, double dy) {
+        return c.getCollisionRectangle().intersectSegment(x0, y0, dx, dy, this.candidate)
+                && this.candidate.getT() < this.closest.getT();
     }
 }
@@ -0,0 +1,242 @@
+package collections;
+
+import geometry.Rectangle;
+import geometry.SegmentHit;
+import interfaces.Collidable;
+import interfaces.CollisionIndex;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The Lattice grid class.
+ * It is an occupancy grid built from the lattice the level's blocks are placed on,
+ * and it finds the closest collision by walking only through the cells the trajectory crosses.
+ */
+public class LatticeGrid implements CollisionIndex {
+    private double originX;
+    private double originY;
+    private double cellWidth;
+    private double cellHeight;
+    private int cols;
+    private int rows;
+    private Collidable[][] cells;
+    private int[] counts;
+    private Map<Collidable, int[]> spans;
+    private SegmentHit candidate;
+
+    /**
+     * The constructor of a new Lattice grid.
+     *
+     * @param originX    the X coordinate of the grid's upper left corner.
+     * @param originY    the Y coordinate of the grid's upper left corner.
+     * @param cellWidth  the width of each cell.
+     * @param cellHeight the height of each cell.
+     * @param cols       the number of columns.
+     * @param rows       the number of rows.
+     */
+    public LatticeGrid(double originX, double originY, double cellWidth, double cellHeight, int cols, int rows) {
+        this.originX = originX;
+        this.originY = originY;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.cols = cols;
+        this.rows = rows;
+        this.cells = new Collidable[cols * rows][];
+        this.counts = new int[cols * rows];
+        this.spans = new IdentityHashMap<>();
+        this.candidate = new SegmentHit();
+    }
+
+    /**
+     * Add a given collidable to all the cells its rectangle covers.
+     * A collidable which isn't fully inside the grid is not added.
+     *
+     * @param c the given collidable.
+     * @return true if the collidable was added to the grid, and false otherwise.
+     */
+    @Override
+    public boolean add(Collidable c) {
+        Rectangle rect = c.getCollisionRectangle();
+        double minX = rect.getMinX();
+        double minY = rect.getMinY();
+        double maxX = minX + rect.getWidth();
+        double maxY = minY + rect.getHeight();
+        if (minX < this.originX || minY < this.originY
+                || maxX > this.originX + this.cols * this.cellWidth
+                || maxY > this.originY + this.rows * this.cellHeight) {
+            return false;
+        }
+        // the span is inclusive, so a rectangle touching a cell's border is in that cell too.
+        int[] span = new int[]{this.column(minX), this.row(minY), this.column(maxX), this.row(maxY)};
+        for (int j = span[1]; j <= span[3]; j++) {
+            for (int i = span[0]; i <= span[2]; i++) {
+                this.put(j * this.cols + i, c);
+            }
+        }
+        this.spans.put(c, span);
+        return true;
+    }
+
+    /**
+     * Remove a given collidable from the cells it covers.
+     *
+     * @param c the given collidable.
+     * @return true if the collidable was in the grid, and false otherwise.
+     */
+    @Override
+    public boolean remove(Collidable c) {
+        int[] span = this.spans.remove(c);
+        if (span == null) {
+            return false;
+        }
+        for (int j = span[1]; j <= span[3]; j++) {
+            for (int i = span[0]; i <= span[2]; i++) {
+                this.take(j * this.cols + i, c);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Move a given collidable to the cells its rectangle covers now.
+     *
+     * @param c the given collidable.
+     * @return true if the collidable is still in the grid, and false otherwise.
+     */
+    @Override
+    public boolean update(Collidable c) {
+        return this.remove(c) && this.add(c);
+    }
+
+    /**
+     * Walk through the cells the trajectory crosses (Amanatides-Woo traversal),
+     * and look for a collision in them, which is closer than the closest hit found so far.
+     * The walk stops as soon as the closest hit is before the exit of the current cell.
+     *
+     * @param x0      the X coordinate of the trajectory's start.
+     * @param y0      the Y coordinate of the trajectory's start.
+     * @param dx      the change of the X coordinate along the trajectory.
+     * @param dy      the change of the Y coordinate along the trajectory.
+     * @param closest the closest hit found so far, which is replaced if a closer one is found.
+     * @return the collidable of the closer hit, or null if there isn't a closer hit.
+     */
+    @Override
+    public Collidable closestCollision(double x0, double y0, double dx, double dy, SegmentHit closest) {
+        // clip the trajectory to the bounds of the grid.
+        double tEnter = 0;
+        double tExit = 1;
+        double maxX = this.originX + this.cols * this.cellWidth;
+        double maxY = this.originY + this.rows * this.cellHeight;
+        if (dx == 0) {
+            if (x0 < this.originX || x0 > maxX) {
+                return null;
+            }
+        } else {
+            tEnter = Math.max(tEnter, Math.min((this.originX - x0) / dx, (maxX - x0) / dx));
+            tExit = Math.min(tExit, Math.max((this.originX - x0) / dx, (maxX - x0) / dx));
+        }
+        if (dy == 0) {
+            if (y0 < this.originY || y0 > maxY) {
+                return null;
+            }
+        } else {
+            tEnter = Math.max(tEnter, Math.min((this.originY - y0) / dy, (maxY - y0) / dy));
+            tExit = Math.min(tExit, Math.max((this.originY - y0) / dy, (maxY - y0) / dy));
+        }
+        if (tEnter > tExit || tEnter > closest.getT()) {
+            return null;
+        }
+        int i = this.column(x0 + tEnter * dx);
+        int j = this.row(y0 + tEnter * dy);
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        double tDeltaX = dx == 0 ? Double.POSITIVE_INFINITY : this.cellWidth / Math.abs(dx);
+        double tDeltaY = dy == 0 ? Double.POSITIVE_INFINITY : this.cellHeight / Math.abs(dy);
+        double tMaxX = Double.POSITIVE_INFINITY;
+        if (dx != 0) {
+            tMaxX = (this.originX + (dx > 0 ? i + 1 : i) * this.cellWidth - x0) / dx;
+        }
+        double tMaxY = Double.POSITIVE_INFINITY;
+        if (dy != 0) {
+            tMaxY = (this.originY + (dy > 0 ? j + 1 : j) * this.cellHeight - y0) / dy;
+        }
+        Collidable best = null;
+        while (i >= 0 && i < this.cols && j >= 0 && j < this.rows) {
+            int cell = j * this.cols + i;
+            for (int k = 0; k < this.counts[cell]; k++) {
+                Collidable c = this.cells[cell][k];
+                if (c.getCollisionRectangle().intersectSegment(x0, y0, dx, dy, this.candidate)
+                        && this.candidate.getT() < closest.getT()) {
+                    closest.set(this.candidate);
+                    best = c;
+                }
+            }
+            double cellExit = Math.min(tMaxX, tMaxY);
+            // nothing in the next cells can be closer than a hit before the exit of this cell.
+            if (closest.getT() <= cellExit || cellExit > tExit) {
+                break;
+            }
+            if (tMaxX < tMaxY) {
+                i += stepX;
+                tMaxX += tDeltaX;
+            } else {
+                j += stepY;
+                tMaxY += tDeltaY;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @param x the given X coordinate.
+     * @return the column of the given X coordinate, clamped to the grid.
+     */
+    private int column(double x) {
+        int i = (int) Math.floor((x - this.originX) / this.cellWidth);
+        return Math.max(0, Math.min(this.cols - 1, i));
+    }
+
+    /**
+     * @param y the given Y coordinate.
+     * @return the row of the given Y coordinate, clamped to the grid.
+     */
+    private int row(double y) {
+        int j = (int) Math.floor((y - this.originY) / this.cellHeight);
+        return Math.max(0, Math.min(this.rows - 1, j));
+    }
+
+    /**
+     * Put a given collidable in a given cell, growing the cell's array if needed.
+     *
+     * @param cell the cell's index.
+     * @param c    the given collidable.
+     */
+    private void put(int cell, Collidable c) {
+        if (this.cells[cell] == null) {
+            this.cells[cell] = new Collidable[1];
+        } else if (this.counts[cell] == this.cells[cell].length) {
+            Collidable[] grown = new Collidable[this.cells[cell].length * 2];
+            System.arraycopy(this.cells[cell], 0, grown, 0, this.counts[cell]);
+            this.cells[cell] = grown;
+        }
+        this.cells[cell][this.counts[cell]++] = c;
+    }
+
+    /**
+     * Take a given collidable out of a given cell, by moving the cell's last collidable to its place.
+     *
+     * @param cell the cell's index.
+     * @param c    the given collidable.
+     */
+    private void take(int cell, Collidable c) {
+        for (int k = 0; k < this.counts[cell]; k++) {
+            if (this.cells[cell][k] == c) {
+                this.counts[cell]--;
+                this.cells[cell][k] = this.cells[cell][this.counts[cell]];
+                this.cells[cell][this.counts[cell]] = null;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package collections;
+
+import interfaces.RayBoxKernel;
+
+/**
+ * The Scalar ray box kernel class.
+ * It tests the boxes one by one, and it's used when the vector kernel can't be loaded.
+ */
+public class ScalarRayBoxKernel implements RayBoxKernel {
+    private double t;
+
+    @Override
+    public int nearest(double[] ray, double[] minX, double[] minY, double[] maxX, double[] maxY, int count,
+                       double limit) {
+        double x0 = ray[0];
+        double y0 = ray[1];
+        double dx = ray[2];
+        double dy = ray[3];
+        int best = -1;
+        this.t = limit;
+        for (int i = 0; i < count; i++) {
+            double tMin = Double.NEGATIVE_INFINITY;
+            double tMax = Double.POSITIVE_INFINITY;
+            if (dx == 0) {
+                if (x0 < minX[i] || x0 > maxX[i]) {
+                    continue;
+                }
+            } else {
+                double a = (minX[i] - x0) / dx;
+                double b = (maxX[i] - x0) / dx;
+                tMin = Math.min(a, b);
+                tMax = Math.max(a, b);
+            }
+            if (dy == 0) {
+                if (y0 < minY[i] || y0 > maxY[i]) {
+                    continue;
+                }
+            } else {
+                double a = (minY[i] - y0) / dy;
+                double b = (maxY[i] - y0) / dy;
+                tMin = Math.max(tMin, Math.min(a, b));
+                tMax = Math.min(tMax, Math.max(a, b));
+            }
+            if (tMin > tMax) {
+                continue;
+            }
+            // the entry if the trajectory starts outside, and the exit if it starts inside.
+            double hit = tMin >= 0 ? tMin : tMax;
+            if ((tMin >= 0 || hit > 0) && hit <= 1 && hit < this.t) {
+                this.t = hit;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public double lastT() {
+        return this.t;
+    }
+}
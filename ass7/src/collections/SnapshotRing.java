@@ -0,0 +1,79 @@
+package collections;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The Snapshot ring class.
+ * It keeps the last snapshots of a game, up to a given number, in a ring of byte buffers.
+ * When the ring is full, a new snapshot is written over the oldest one. The buffers are reused, so once they
+ * are large enough, taking a snapshot doesn't create new objects.
+ */
+public class SnapshotRing {
+    private ByteBuffer[] buffers;
+    private int newest;
+    private int size;
+
+    /**
+     * The constructor of a new, empty, Snapshot ring.
+     *
+     * @param capacity the most snapshots the ring keeps.
+     */
+    public SnapshotRing(int capacity) {
+        this.buffers = new ByteBuffer[Math.max(1, capacity)];
+        this.newest = -1;
+        this.size = 0;
+    }
+
+    /**
+     * Returns an empty buffer for a new snapshot, which becomes the newest one.
+     *
+     * @param bytes the number of bytes the new snapshot takes.
+     * @return the buffer the snapshot should be written to.
+     */
+    public ByteBuffer push(int bytes) {
+        this.newest = (this.newest + 1) % this.buffers.length;
+        if (this.size < this.buffers.length) {
+            this.size++;
+        }
+        ByteBuffer buffer = this.buffers[this.newest];
+        if (buffer == null || buffer.capacity() < bytes) {
+            // the buffer is grown with a margin, so a slowly growing snapshot doesn't grow it every time.
+            buffer = ByteBuffer.allocate(bytes + bytes / 4);
+            this.buffers[this.newest] = buffer;
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Removes the newest snapshot from the ring, and returns it for reading.
+     * The returned buffer is valid until the next push.
+     *
+     * @return the buffer of the newest snapshot, or null if the ring is empty.
+     */
+    public ByteBuffer pop() {
+        if (this.size == 0) {
+            return null;
+        }
+        ByteBuffer buffer = this.buffers[this.newest];
+        this.newest = (this.newest - 1 + this.buffers.length) % this.buffers.length;
+        this.size--;
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @return the number of snapshots in the ring.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all the snapshots from the ring.
+     */
+    public void clear() {
+        this.newest = -1;
+        this.size = 0;
+    }
+}
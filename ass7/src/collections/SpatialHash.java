@@ -0,0 +1,95 @@
+package collections;
+
+import java.util.Arrays;
+
+/**
+ * The Spatial hash class.
+ * It divides the plane into square cells of a given size, and keeps the points in each cell in a linked list of
+ * indexes, so the points near a given point are found by looking at its cell and the cells around it.
+ * The cells are hashed into a table of buckets, so the plane doesn't need to be bounded. Two cells may share a
+ * bucket, so the points of a bucket must still be checked by their distance.
+ * The table and the lists are kept in arrays which are reused, and they grow only when there are more points.
+ */
+public class SpatialHash {
+    private static final int MIN_BUCKETS = 64;
+    private double cellSize;
+    private int[] heads;
+    private int[] next;
+    private int mask;
+
+    /**
+     * The constructor of a new, empty, Spatial hash.
+     *
+     * @param cellSize the size of the cells' sides.
+     */
+    public SpatialHash(double cellSize) {
+        this.cellSize = cellSize;
+        this.heads = new int[MIN_BUCKETS];
+        this.next = new int[0];
+        this.mask = MIN_BUCKETS - 1;
+        Arrays.fill(this.heads, -1);
+    }
+
+    /**
+     * Builds the hash from the first points of given arrays of coordinates, instead of the points it had.
+     *
+     * @param xs    the X coordinates of the points.
+     * @param ys    the Y coordinates of the points.
+     * @param count the number of the points.
+     */
+    public void build(double[] xs, double[] ys, int count) {
+        // the table has at least two buckets for each point, so the lists stay short.
+        if (this.heads.length < 2 * count) {
+            int buckets = Integer.highestOneBit(2 * count - 1) << 1;
+            this.heads = new int[buckets];
+            this.mask = buckets - 1;
+        }
+        if (this.next.length < count) {
+            this.next = new int[xs.length];
+        }
+        Arrays.fill(this.heads, -1);
+        for (int i = 0; i < count; i++) {
+            int bucket = this.bucket(this.cell(xs[i]), this.cell(ys[i]));
+            this.next[i] = this.heads[bucket];
+            this.heads[bucket] = i;
+        }
+    }
+
+    /**
+     * @param coordinate a given coordinate.
+     * @return the index of the cell's row or column the coordinate is in.
+     */
+    public int cell(double coordinate) {
+        return (int) Math.floor(coordinate / this.cellSize);
+    }
+
+    /**
+     * Returns the first point in the bucket of a given cell.
+     *
+     * @param col the column of the cell.
+     * @param row the row of the cell.
+     * @return the index of the first point, or -1 if the bucket is empty.
+     */
+    public int first(int col, int row) {
+        return this.heads[this.bucket(col, row)];
+    }
+
+    /**
+     * Returns the point after a given point in its bucket.
+     *
+     * @param i the index of the given point.
+     * @return the index of the next point, or -1 if the given point is the last.
+     */
+    public int next(int i) {
+        return this.next[i];
+    }
+
+    /**
+     * @param col the column of a given cell.
+     * @param row the row of the given cell.
+     * @return the bucket of the given cell.
+     */
+    private int bucket(int col, int row) {
+        return ((col * 73856093) ^ (row * 19349663)) & this.mask;
+    }
+}
@@ -1,63 +1,224 @@
 package collections;
 
-import java.util.List;
-import java.util.ArrayList;
-
 import biuoop.DrawSurface;
+import geometry.Rectangle;
+import interfaces.InterpolatedSprite;
+import interfaces.PartialSprite;
+import interfaces.RegionSprite;
 import interfaces.Sprite;
+import sprites.ImageDrawSurface;
 
 /**
  * The Sprite collection class is the collection of all the game objects that can be drawn to the screen.
+ * The sprites are kept in z-ordered layers, which are drawn from the background up to the HUD, and each layer
+ * keeps its sprites in the order they were added.
+ * Adding a sprite returns its handle, which removes it in O(1): its slot is emptied, and the layer is compacted
+ * once half of its slots are empty, and never while the sprites are notified or drawn.
  */
 public class SpriteCollection {
-    private List<Sprite> sprites;
+    private static final Layer[] LAYERS = Layer.values();
+    private Handle[][] slots;
+    private int[] counts;
+    private int[] holes;
+    private int iterating;
+
+    /**
+     * The layers of the sprites, from the lowest to the highest.
+     */
+    public enum Layer {
+        /**
+         * The background, drawn under all the other sprites.
+         */
+        BACKGROUND,
+        /**
+         * The sprites which don't move and aren't hit away, as the borders.
+         */
+        STATIC,
+        /**
+         * The blocks.
+         */
+        BLOCKS,
+        /**
+         * The sprites which move, as the balls and the paddle.
+         */
+        ACTORS,
+        /**
+         * The indicators, drawn above all the other sprites.
+         */
+        HUD
+    }
+
+    /**
+     * The handle of a sprite in a collection, which removes it.
+     */
+    public static class Handle {
+        private Sprite sprite;
+        private Layer layer;
+        private Rectangle bounds;
+        private int index;
+
+        /**
+         * The constructor of a new Handle.
+         *
+         * @param sprite the sprite.
+         * @param layer  the sprite's layer.
+         * @param bounds the rectangle the sprite is drawn in, or null if it may be drawn anywhere.
+         * @param index  the sprite's slot in its layer.
+         */
+        private Handle(Sprite sprite, Layer layer, Rectangle bounds, int index) {
+            this.sprite = sprite;
+            this.layer = layer;
+            this.bounds = bounds;
+            this.index = index;
+        }
+
+        /**
+         * @return the sprite.
+         */
+        public Sprite getSprite() {
+            return this.sprite;
+        }
+
+        /**
+         * @return the sprite's layer.
+         */
+        public Layer getLayer() {
+            return this.layer;
+        }
+
+        /**
+         * @return the rectangle the sprite is drawn in, or null if it may be drawn anywhere.
+         */
+        public Rectangle getBounds() {
+            return this.bounds;
+        }
+
+        /**
+         * @return true if the sprite is still in the collection, and false if it was removed.
+         */
+        public boolean isAdded() {
+            return this.index >= 0;
+        }
+    }
 
     /**
      * The constructor of collections.SpriteCollection.
-     * It initializes the array list, which will contain the game's sprites.
+     * It initializes the layers, which will contain the game's sprites.
      */
     public SpriteCollection() {
-        this.sprites = new ArrayList<Sprite>();
+        this.slots = new Handle[LAYERS.length][];
+        for (int i = 0; i < LAYERS.length; i++) {
+            this.slots[i] = new Handle[8];
+        }
+        this.counts = new int[LAYERS.length];
+        this.holes = new int[LAYERS.length];
+        this.iterating = 0;
     }
 
     /**
      * Add sprite methods.
-     * It adds the given sprite to the array list.
+     * It adds the given sprite on top of the actors layer.
      *
      * @param s the give sprite.
      */
     public void addSprite(Sprite s) {
-        sprites.add(s);
+        this.add(s, Layer.ACTORS, null);
     }
 
     /**
-     * The method adds the given sprite to the given position of the array list.
+     * Adds a given sprite on top of a given layer.
      *
-     * @param s the give sprite.
-     * @param number the give number.
+     * @param s     the given sprite.
+     * @param layer the given layer.
+     * @return the sprite's handle.
+     */
+    public Handle add(Sprite s, Layer layer) {
+        return this.add(s, layer, null);
+    }
+
+    /**
+     * Adds a given sprite, which is drawn only in a given rectangle, on top of a given layer.
+     *
+     * @param s      the given sprite.
+     * @param layer  the given layer.
+     * @param bounds the rectangle the sprite is drawn in, or null if it may be drawn anywhere.
+     * @return the sprite's handle.
+     */
+    public Handle add(Sprite s, Layer layer, Rectangle bounds) {
+        int l = layer.ordinal();
+        if (this.counts[l] == this.slots[l].length) {
+            Handle[] grown = new Handle[this.slots[l].length * 2];
+            System.arraycopy(this.slots[l], 0, grown, 0, this.counts[l]);
+            this.slots[l] = grown;
+        }
+        Handle handle = new Handle(s, layer, bounds, this.counts[l]);
+        this.slots[l][this.counts[l]++] = handle;
+        return handle;
+    }
+
+    /**
+     * Removes the sprite of a given handle, if it's still in the collection.
+     *
+     * @param handle the given handle.
      */
-    public void addToPosition(Sprite s, int number) {
-        sprites.add(number, s);
+    public void remove(Handle handle) {
+        if (handle == null || !handle.isAdded()) {
+            return;
+        }
+        int l = handle.layer.ordinal();
+        this.slots[l][handle.index] = null;
+        handle.index = -1;
+        this.holes[l]++;
+        if (this.iterating == 0) {
+            this.compact(l);
+        }
     }
 
     /**
      * Remove sprite methods.
-     * It removes the given sprite from the array list.
+     * It removes the given sprite, which is searched for in all the layers.
      *
      * @param s the give sprite.
      */
     public void removeSprite(Sprite s) {
-        sprites.remove(s);
+        for (int l = 0; l < LAYERS.length; l++) {
+            for (int i = 0; i < this.counts[l]; i++) {
+                Handle handle = this.slots[l][i];
+                if (handle != null && handle.sprite == s) {
+                    this.remove(handle);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of sprites in the collection.
+     */
+    public int size() {
+        int size = 0;
+        for (int l = 0; l < LAYERS.length; l++) {
+            size += this.counts[l] - this.holes[l];
+        }
+        return size;
     }
 
     /**
      * The method charges to notify all the sprites in the array list to make their next move.
      */
     public void notifyAllTimePassed() {
-        List<Sprite> temp = new ArrayList<>(this.sprites);
-        for (Sprite s : temp) {
-            s.timePassed();
+        this.iterating++;
+        for (int l = 0; l < LAYERS.length; l++) {
+            // the sprites which are added while the sprites are notified, are notified from the next time.
+            int count = this.counts[l];
+            for (int i = 0; i < count; i++) {
+                Handle handle = this.slots[l][i];
+                if (handle != null) {
+                    handle.sprite.timePassed();
+                }
+            }
         }
+        this.endIterating();
     }
 
     /**
@@ -66,9 +227,181 @@ public class SpriteCollection {
      * @param d the given surface.
      */
     public void drawAllOn(DrawSurface d) {
-        List<Sprite> temp = new ArrayList<>(this.sprites);
-        for (Sprite s : temp) {
+        this.iterating++;
+        for (int l = 0; l < LAYERS.length; l++) {
+            int count = this.counts[l];
+            for (int i = 0; i < count; i++) {
+                Handle handle = this.slots[l][i];
+                if (handle != null) {
+                    handle.sprite.drawOn(d);
+                }
+            }
+        }
+        this.endIterating();
+    }
+
+    /**
+     * The method draws on a given surface the sprites which are drawn in a given rectangle: the sprites which
+     * are drawn anywhere, and the sprites whose rectangles overlap the given one.
+     *
+     * @param d    the given surface.
+     * @param minX the left bound of the rectangle.
+     * @param minY the up bound of the rectangle.
+     * @param maxX the right bound of the rectangle.
+     * @param maxY the down bound of the rectangle.
+     */
+    public void drawOverlapping(DrawSurface d, double minX, double minY, double maxX, double maxY) {
+        this.iterating++;
+        for (int l = 0; l < LAYERS.length; l++) {
+            int count = this.counts[l];
+            for (int i = 0; i < count; i++) {
+                Handle handle = this.slots[l][i];
+                if (handle == null) {
+                    continue;
+                }
+                Rectangle r = handle.bounds;
+                if (r == null || (r.getMinX() < maxX && r.getMaxX() > minX
+                        && r.getMinY() < maxY && r.getMaxY() > minY)) {
+                    handle.sprite.drawOn(d);
+                }
+            }
+        }
+        this.endIterating();
+    }
+
+    /**
+     * The method charges to notify all the sprites in the array list to be dorwn on the given surface,
+     * and the moving sprites are drawn between their previous and current locations.
+     *
+     * @param d     the given surface.
+     * @param alpha 0 for the locations before the last move, 1 for the current locations.
+     */
+    public void drawAllOn(DrawSurface d, double alpha) {
+        this.iterating++;
+        for (int l = 0; l < LAYERS.length; l++) {
+            int count = this.counts[l];
+            for (int i = 0; i < count; i++) {
+                Handle handle = this.slots[l][i];
+                if (handle != null) {
+                    drawOn(handle.sprite, d, alpha);
+                }
+            }
+        }
+        this.endIterating();
+    }
+
+    /**
+     * The method draws the sprites on a given frame, which keeps the last frame drawn on it, only in the regions
+     * which changed since the last frame. A sprite which doesn't know its regions changes all the screen.
+     * Each changed region is drawn again, clipped to it, by the sprites which overlap it, and a sprite of many
+     * parts draws only its parts which overlap it. If all the screen changed, the frame is drawn all, as by
+     * drawAllOn.
+     *
+     * @param frame   the given frame.
+     * @param regions the regions, which are filled with the changed regions of this frame.
+     * @param alpha   0 for the locations before the last move, 1 for the current locations.
+     * @return the number of pixels which were drawn again.
+     */
+    public long drawChangedOn(ImageDrawSurface frame, DirtyRegions regions, double alpha) {
+        this.iterating++;
+        regions.clear();
+        for (int l = 0; l < LAYERS.length; l++) {
+            for (int i = 0; i < this.counts[l]; i++) {
+                Handle handle = this.slots[l][i];
+                if (handle == null) {
+                    continue;
+                }
+                // once all the screen changed, the regions ignore the sprites' rectangles, but the sprites are
+                // still told, since each one keeps where it's drawn in this frame, for the next one.
+                if (handle.sprite instanceof RegionSprite) {
+                    ((RegionSprite) handle.sprite).addChangedRegions(regions, alpha);
+                } else {
+                    regions.addAll();
+                }
+            }
+        }
+        if (regions.isAll()) {
+            // all the screen changed, so the sprites are drawn once each, with no regions to check.
+            frame.setClip(0, 0, frame.getWidth(), frame.getHeight());
+            this.endIterating();
+            this.drawAllOn(frame, alpha);
+            return regions.pixels();
+        }
+        regions.merge();
+        for (int r = 0; r < regions.size(); r++) {
+            int minX = regions.getMinX(r);
+            int minY = regions.getMinY(r);
+            int maxX = regions.getMaxX(r);
+            int maxY = regions.getMaxY(r);
+            frame.setClip(minX, minY, maxX - minX, maxY - minY);
+            for (int l = 0; l < LAYERS.length; l++) {
+                for (int i = 0; i < this.counts[l]; i++) {
+                    Handle handle = this.slots[l][i];
+                    if (handle == null) {
+                        continue;
+                    }
+                    if (handle.sprite instanceof PartialSprite) {
+                        ((PartialSprite) handle.sprite).drawOverlapping(frame, minX, minY, maxX, maxY, alpha);
+                    } else if (!(handle.sprite instanceof RegionSprite)
+                            || ((RegionSprite) handle.sprite).overlaps(minX, minY, maxX, maxY)) {
+                        drawOn(handle.sprite, frame, alpha);
+                    }
+                }
+            }
+        }
+        this.endIterating();
+        return regions.pixels();
+    }
+
+    /**
+     * Draws a given sprite on a given surface, between its previous and current locations if it moves.
+     *
+     * @param s     the given sprite.
+     * @param d     the given surface.
+     * @param alpha 0 for the locations before the last move, 1 for the current locations.
+     */
+    private static void drawOn(Sprite s, DrawSurface d, double alpha) {
+        if (s instanceof InterpolatedSprite) {
+            ((InterpolatedSprite) s).drawOn(d, alpha);
+        } else {
             s.drawOn(d);
         }
     }
+
+    /**
+     * Ends notifying or drawing the sprites, and compacts the layers which had sprites removed meanwhile.
+     */
+    private void endIterating() {
+        this.iterating--;
+        if (this.iterating == 0) {
+            for (int l = 0; l < LAYERS.length; l++) {
+                this.compact(l);
+            }
+        }
+    }
+
+    /**
+     * Compacts a given layer, if half of its slots are empty: its sprites are moved to the start of the layer,
+     * in the same order.
+     *
+     * @param l the index of the given layer.
+     */
+    private void compact(int l) {
+        if (this.holes[l] == 0 || this.holes[l] * 2 < this.counts[l]) {
+            return;
+        }
+        Handle[] layer = this.slots[l];
+        int j = 0;
+        for (int i = 0; i < this.counts[l]; i++) {
+            if (layer[i] != null) {
+                layer[i].index = j;
+                layer[j++] = layer[i];
+            }
+        }
+        for (int i = j; i < this.counts[l]; i++) {
+            layer[i] = null;
+        }
+        this.counts[l] = j;
+        this.holes[l] = 0;
+    }
 }
@@ -0,0 +1,504 @@
+package collections;
+
+import geometry.Rectangle;
+import geometry.SegmentHit;
+import interfaces.Collidable;
+import interfaces.CollisionIndex;
+import sprites.Ball;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The Sweep and prune class.
+ * It keeps the intervals of the collidables and of the balls' movements sorted along the X axis.
+ * Once a frame, one sweep over the sorted intervals finds, for all the balls together, the collidables each ball
+ * may hit, so each ball checks only those collidables instead of all of them.
+ * Since the intervals hardly change between frames, they are sorted again by an insertion sort, which is
+ * linear when the order is almost right.
+ * A collidable which moves (like the paddle) is not swept, and every ball checks it.
+ */
+public class SweepAndPrune implements CollisionIndex {
+    private int capacity;
+    private int bodies;
+    private Collidable[] collidables;
+    private Ball[] balls;
+    private boolean[] alive;
+    private boolean[] moving;
+    private double[] minX;
+    private double[] minY;
+    private double[] maxX;
+    private double[] maxY;
+    private int[] freeIds;
+    private int freeCount;
+    private Map<Collidable, Integer> collidableIds;
+    private Map<Ball, Integer> ballIds;
+    private int[] endpoints;
+    private double[] values;
+    private int endpointCount;
+    private int[] activeBalls;
+    private int activeBallCount;
+    private int[] activeCollidables;
+    private int activeCollidableCount;
+    private int[] activePos;
+    private int[][] candidates;
+    private int[] candidateCount;
+    private int[] movingIds;
+    private int movingCount;
+    private boolean valid;
+    private SegmentHit candidate;
+
+    /**
+     * The constructor of a new Sweep and prune.
+     */
+    public SweepAndPrune() {
+        this.capacity = 0;
+        this.bodies = 0;
+        this.freeCount = 0;
+        this.endpointCount = 0;
+        this.activeBallCount = 0;
+        this.activeCollidableCount = 0;
+        this.movingCount = 0;
+        this.valid = false;
+        this.collidableIds = new IdentityHashMap<>();
+        this.ballIds = new IdentityHashMap<>();
+        this.candidate = new SegmentHit();
+        this.grow(32);
+    }
+
+    @Override
+    public boolean add(Collidable c) {
+        if (this.collidableIds.containsKey(c)) {
+            return true;
+        }
+        int id = this.newBody();
+        this.collidables[id] = c;
+        this.collidableIds.put(c, id);
+        this.addEndpoints(id);
+        // the candidates of this frame don't know the new collidable.
+        this.valid = false;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Collidable c) {
+        Integer id = this.collidableIds.remove(c);
+        if (id == null) {
+            return false;
+        }
+        if (this.moving[id]) {
+            this.removeMoving(id);
+        }
+        this.alive[id] = false;
+        return true;
+    }
+
+    /**
+     * Marks a given collidable as moving, so it is checked by every ball instead of being swept.
+     *
+     * @param c the given collidable.
+     * @return true if the collidable is in the index, and false otherwise.
+     */
+    @Override
+    public boolean update(Collidable c) {
+        Integer id = this.collidableIds.get(c);
+        if (id == null) {
+            return false;
+        }
+        if (!this.moving[id]) {
+            this.moving[id] = true;
+            this.movingIds[this.movingCount++] = id;
+        }
+        return true;
+    }
+
+    /**
+     * Add a given ball, so its movement is swept every frame.
+     *
+     * @param b the given ball.
+     */
+    public void addBall(Ball b) {
+        if (this.ballIds.containsKey(b)) {
+            return;
+        }
+        int id = this.newBody();
+        this.balls[id] = b;
+        this.ballIds.put(b, id);
+        this.addEndpoints(id);
+    }
+
+    /**
+     * Remove a given ball.
+     *
+     * @param b the given ball.
+     */
+    public void removeBall(Ball b) {
+        Integer id = this.ballIds.remove(b);
+        if (id != null) {
+            this.alive[id] = false;
+        }
+    }
+
+    /**
+     * Updates the intervals of all the bodies, sorts them again, and sweeps them,
+     * to find the candidate collidables of all the balls in one pass.
+     */
+    public void sweep() {
+        this.refreshBoxes();
+        this.sortEndpoints();
+        for (int i = 0; i < this.bodies; i++) {
+            this.candidateCount[i] = 0;
+        }
+        this.activeBallCount = 0;
+        this.activeCollidableCount = 0;
+        for (int e = 0; e < this.endpointCount; e++) {
+            int id = this.endpoints[e] >> 1;
+            boolean isBall = this.balls[id] != null;
+            int[] own = isBall ? this.activeBalls : this.activeCollidables;
+            if ((this.endpoints[e] & 1) == 1) {
+                // end of an interval, take the body out of its active list.
+                int last = isBall ? --this.activeBallCount : --this.activeCollidableCount;
+                int pos = this.activePos[id];
+                own[pos] = own[last];
+                this.activePos[own[pos]] = pos;
+                continue;
+            }
+            // a ball is paired only with the active collidables, and a collidable only with the active balls.
+            int[] others = isBall ? this.activeCollidables : this.activeBalls;
+            int othersCount = isBall ? this.activeCollidableCount : this.activeBallCount;
+            for (int k = 0; k < othersCount; k++) {
+                int other = others[k];
+                if (this.maxY[id] < this.minY[other] || this.maxY[other] < this.minY[id]) {
+                    continue;
+                }
+                if (isBall) {
+                    this.addCandidate(id, other);
+                } else {
+                    this.addCandidate(other, id);
+                }
+            }
+            if (isBall) {
+                this.activePos[id] = this.activeBallCount;
+                this.activeBalls[this.activeBallCount++] = id;
+            } else {
+                this.activePos[id] = this.activeCollidableCount;
+                this.activeCollidables[this.activeCollidableCount++] = id;
+            }
+        }
+        this.valid = true;
+    }
+
+    /**
+     * Checks if the candidates of the last sweep can answer the search of the given ball's trajectory.
+     * It's true only if the trajectory is inside the interval the ball was swept with.
+     *
+     * @param b  the given ball.
+     * @param x0 the X coordinate of the trajectory's start.
+     * @param y0 the Y coordinate of the trajectory's start.
+     * @param dx the change of the X coordinate along the trajectory.
+     * @param dy the change of the Y coordinate along the trajectory.
+     * @return true if the ball's candidates can be used, and false otherwise.
+     */
+    public boolean covers(Ball b, double x0, double y0, double dx, double dy) {
+        Integer id = this.ballIds.get(b);
+        if (!this.valid || id == null) {
+            return false;
+        }
+        return Math.min(x0, x0 + dx) >= this.minX[id] && Math.max(x0, x0 + dx) <= this.maxX[id]
+                && Math.min(y0, y0 + dy) >= this.minY[id] && Math.max(y0, y0 + dy) <= this.maxY[id];
+    }
+
+    /**
+     * Search the candidates of the given ball, and the moving collidables, for a collision of the ball's
+     * trajectory, which is closer than the closest hit found so far.
+     * It should be called only when the ball's candidates cover the trajectory.
+     *
+     * @param b       the given ball.
+     * @param x0      the X coordinate of the trajectory's start.
+     * @param y0      the Y coordinate of the trajectory's start.
+     * @param dx      the change of the X coordinate along the trajectory.
+     * @param dy      the change of the Y coordinate along the trajectory.
+     * @param closest the closest hit found so far, which is replaced if a closer one is found.
+     * @return the collidable of the closer hit, or null if there isn't a closer hit.
+     */
+    public Collidable closestCollision(Ball b, double x0, double y0, double dx, double dy, SegmentHit closest) {
+        int ballId = this.ballIds.get(b);
+        Collidable best = null;
+        for (int k = 0; k < this.candidateCount[ballId]; k++) {
+            Collidable c = this.test(this.candidates[ballId][k], x0, y0, dx, dy, closest);
+            if (c != null) {
+                best = c;
+            }
+        }
+        for (int k = 0; k < this.movingCount; k++) {
+            Collidable c = this.test(this.movingIds[k], x0, y0, dx, dy, closest);
+            if (c != null) {
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Search all the collidables for a collision of the trajectory, which is closer than the closest hit found
+     * so far. It is used for trajectories which aren't of a swept ball.
+     *
+     * @param x0      the X coordinate of the trajectory's start.
+     * @param y0      the Y coordinate of the trajectory's start.
+     * @param dx      the change of the X coordinate along the trajectory.
+     * @param dy      the change of the Y coordinate along the trajectory.
+     * @param closest the closest hit found so far, which is replaced if a closer one is found.
+     * @return the collidable of the closer hit, or null if there isn't a closer hit.
+     */
+    @Override
+    public Collidable closestCollision(double x0, double y0, double dx, double dy, SegmentHit closest) {
+        Collidable best = null;
+        for (int id = 0; id < this.bodies; id++) {
+            Collidable c = this.test(id, x0, y0, dx, dy, closest);
+            if (c != null) {
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks the trajectory against the collidable of a given body.
+     *
+     * @param id      the body's id.
+     * @param x0      the X coordinate of the trajectory's start.
+     * @param y0      the Y coordinate of the trajectory's start.
+     * @param dx      the change of the X coordinate along the trajectory.
+     * @param dy      the change of the Y coordinate along the trajectory.
+     * @param closest the closest hit found so far, which is replaced if a closer one is found.
+     * @return the collidable if its hit is closer, and null otherwise.
+     */
+    private Collidable test(int id, double x0, double y0, double dx, double dy, SegmentHit closest) {
+        Collidable c = this.collidables[id];
+        // a removed collidable may still be a candidate until the next sweep.
+        if (!this.alive[id] || c == null) {
+            return null;
+        }
+        if (c.getCollisionRectangle().intersectSegment(x0, y0, dx, dy, this.candidate)
+                && this.candidate.getT() < closest.getT()) {
+            closest.set(this.candidate);
+            return c;
+        }
+        return null;
+    }
+
+    /**
+     * Updates the box of every body. A collidable's box is its rectangle, and a ball's box bounds its next movement,
+     * with a margin of the ball's radius and speed.
+     * A moving collidable gets an empty box, since it isn't swept.
+     */
+    private void refreshBoxes() {
+        for (int id = 0; id < this.bodies; id++) {
+            if (!this.alive[id]) {
+                continue;
+            }
+            if (this.balls[id] != null) {
+                Ball b = this.balls[id];
+                double x = b.getCenterX();
+                double y = b.getCenterY();
+                double dx = b.getDx();
+                double dy = b.getDy();
+                double margin = b.getSize() + Math.abs(dx) + Math.abs(dy);
+                this.minX[id] = Math.min(x, x + dx) - margin;
+                this.maxX[id] = Math.max(x, x + dx) + margin;
+                this.minY[id] = Math.min(y, y + dy) - margin;
+                this.maxY[id] = Math.max(y, y + dy) + margin;
+            } else if (this.moving[id]) {
+                this.minX[id] = Double.POSITIVE_INFINITY;
+                this.maxX[id] = Double.POSITIVE_INFINITY;
+                this.minY[id] = Double.POSITIVE_INFINITY;
+                this.maxY[id] = Double.POSITIVE_INFINITY;
+            } else {
+                Rectangle rect = this.collidables[id].getCollisionRectangle();
+                this.minX[id] = rect.getMinX();
+                this.minY[id] = rect.getMinY();
+                this.maxX[id] = this.minX[id] + rect.getWidth();
+                this.maxY[id] = this.minY[id] + rect.getHeight();
+            }
+        }
+    }
+
+    /**
+     * Drops the end points of removed bodies, and sorts the rest by an insertion sort.
+     * At equal values, the start of an interval comes before an end, so touching intervals overlap.
+     */
+    private void sortEndpoints() {
+        int count = 0;
+        for (int e = 0; e < this.endpointCount; e++) {
+            int id = this.endpoints[e] >> 1;
+            if (!this.alive[id]) {
+                continue;
+            }
+            this.endpoints[count] = this.endpoints[e];
+            this.values[count] = (this.endpoints[e] & 1) == 1 ? this.maxX[id] : this.minX[id];
+            count++;
+        }
+        this.endpointCount = count;
+        this.releaseDead();
+        for (int e = 1; e < this.endpointCount; e++) {
+            int endpoint = this.endpoints[e];
+            double value = this.values[e];
+            int k = e - 1;
+            while (k >= 0 && (this.values[k] > value
+                    || (this.values[k] == value && (this.endpoints[k] & 1) > (endpoint & 1)))) {
+                this.endpoints[k + 1] = this.endpoints[k];
+                this.values[k + 1] = this.values[k];
+                k--;
+            }
+            this.endpoints[k + 1] = endpoint;
+            this.values[k + 1] = value;
+        }
+    }
+
+    /**
+     * Returns the ids of the removed bodies to the free ids, after their end points were dropped.
+     */
+    private void releaseDead() {
+        for (int id = 0; id < this.bodies; id++) {
+            if (!this.alive[id] && (this.collidables[id] != null || this.balls[id] != null)) {
+                this.collidables[id] = null;
+                this.balls[id] = null;
+                this.moving[id] = false;
+                this.freeIds[this.freeCount++] = id;
+            }
+        }
+    }
+
+    /**
+     * Add a given collidable to the candidates of a given ball.
+     *
+     * @param ballId       the ball's id.
+     * @param collidableId the collidable's id.
+     */
+    private void addCandidate(int ballId, int collidableId) {
+        if (this.candidates[ballId] == null) {
+            this.candidates[ballId] = new int[8];
+        } else if (this.candidateCount[ballId] == this.candidates[ballId].length) {
+            int[] grown = new int[this.candidates[ballId].length * 2];
+            System.arraycopy(this.candidates[ballId], 0, grown, 0, this.candidateCount[ballId]);
+            this.candidates[ballId] = grown;
+        }
+        this.candidates[ballId][this.candidateCount[ballId]++] = collidableId;
+    }
+
+    /**
+     * Take a given body out of the list of moving collidables.
+     *
+     * @param id the body's id.
+     */
+    private void removeMoving(int id) {
+        for (int k = 0; k < this.movingCount; k++) {
+            if (this.movingIds[k] == id) {
+                this.movingCount--;
+                this.movingIds[k] = this.movingIds[this.movingCount];
+                return;
+            }
+        }
+    }
+
+    /**
+     * Add the start and end points of a given body's interval, at the end of the end points.
+     * They are put in their place by the next sort.
+     *
+     * @param id the body's id.
+     */
+    private void addEndpoints(int id) {
+        this.endpoints[this.endpointCount] = id << 1;
+        this.values[this.endpointCount++] = Double.POSITIVE_INFINITY;
+        this.endpoints[this.endpointCount] = (id << 1) | 1;
+        this.values[this.endpointCount++] = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return the id of a new body, reusing the id of a removed body if there is one.
+     */
+    private int newBody() {
+        int id;
+        if (this.freeCount > 0) {
+            id = this.freeIds[--this.freeCount];
+        } else {
+            if (this.bodies == this.capacity) {
+                this.grow(this.capacity * 2);
+            }
+            id = this.bodies++;
+        }
+        this.alive[id] = true;
+        this.moving[id] = false;
+        this.candidateCount[id] = 0;
+        // an empty box until the next sweep, so a reused id never covers a trajectory by a removed body's box.
+        this.minX[id] = Double.POSITIVE_INFINITY;
+        this.minY[id] = Double.POSITIVE_INFINITY;
+        this.maxX[id] = Double.NEGATIVE_INFINITY;
+        this.maxY[id] = Double.NEGATIVE_INFINITY;
+        return id;
+    }
+
+    /**
+     * Grow all the arrays to the given capacity of bodies.
+     *
+     * @param newCapacity the given capacity.
+     */
+    private void grow(int newCapacity) {
+        Collidable[] grownCollidables = new Collidable[newCapacity];
+        Ball[] grownBalls = new Ball[newCapacity];
+        boolean[] grownAlive = new boolean[newCapacity];
+        boolean[] grownMoving = new boolean[newCapacity];
+        int[][] grownCandidates = new int[newCapacity][];
+        if (this.capacity > 0) {
+            System.arraycopy(this.collidables, 0, grownCollidables, 0, this.capacity);
+            System.arraycopy(this.balls, 0, grownBalls, 0, this.capacity);
+            System.arraycopy(this.alive, 0, grownAlive, 0, this.capacity);
+            System.arraycopy(this.moving, 0, grownMoving, 0, this.capacity);
+            System.arraycopy(this.candidates, 0, grownCandidates, 0, this.capacity);
+        }
+        this.collidables = grownCollidables;
+        this.balls = grownBalls;
+        this.alive = grownAlive;
+        this.moving = grownMoving;
+        this.candidates = grownCandidates;
+        this.minX = copy(this.minX, newCapacity);
+        this.minY = copy(this.minY, newCapacity);
+        this.maxX = copy(this.maxX, newCapacity);
+        this.maxY = copy(this.maxY, newCapacity);
+        this.freeIds = copy(this.freeIds, newCapacity);
+        this.activeBalls = copy(this.activeBalls, newCapacity);
+        this.activeCollidables = copy(this.activeCollidables, newCapacity);
+        this.activePos = copy(this.activePos, newCapacity);
+        this.candidateCount = copy(this.candidateCount, newCapacity);
+        this.movingIds = copy(this.movingIds, newCapacity);
+        this.endpoints = copy(this.endpoints, 2 * newCapacity);
+        this.values = copy(this.values, 2 * newCapacity);
+        this.capacity = newCapacity;
+    }
+
+    /**
+     * @param array  the given array, may be null.
+     * @param length the new length.
+     * @return a copy of the given array with the new length.
+     */
+    private static double[] copy(double[] array, int length) {
+        double[] grown = new double[length];
+        if (array != null) {
+            System.arraycopy(array, 0, grown, 0, array.length);
+        }
+        return grown;
+    }
+
+    /**
+     * @param array  the given array, may be null.
+     * @param length the new length.
+     * @return a copy of the given array with the new length.
+     */
+    private static int[] copy(int[] array, int length) {
+        int[] grown = new int[length];
+        if (array != null) {
+            System.arraycopy(array, 0, grown, 0, array.length);
+        }
+        return grown;
+    }
+}
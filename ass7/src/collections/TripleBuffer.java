@@ -0,0 +1,97 @@
+package collections;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Triple buffer class.
+ * It hands snapshots from one writing thread to one reading thread, without locks: the writer writes to its own
+ * buffer, the reader reads from its own buffer, and the third buffer holds the newest snapshot between them.
+ * Publishing a snapshot swaps the writer's buffer with the middle one, and reading takes the middle buffer if a
+ * newer snapshot was published to it, so the threads share nothing but the one atomic swap.
+ * The reader always gets the newest snapshot, and a snapshot which was overwritten before it was read is skipped.
+ * The buffers are reused, so once they are large enough, handing a snapshot doesn't create new objects.
+ */
+public class TripleBuffer {
+    // the middle buffer's index is kept with this bit, which is set when it holds a snapshot the reader didn't take.
+    private static final int FRESH = 4;
+    private static final int INDEX = 3;
+    private ByteBuffer[] buffers;
+    private long[] stamps;
+    private AtomicInteger middle;
+    private int back;
+    private int front;
+    private boolean read;
+
+    /**
+     * The constructor of a new, empty, Triple buffer.
+     *
+     * @param bytes the number of bytes each buffer starts with.
+     */
+    public TripleBuffer(int bytes) {
+        this.buffers = new ByteBuffer[3];
+        for (int i = 0; i < this.buffers.length; i++) {
+            this.buffers[i] = ByteBuffer.allocate(Math.max(1, bytes));
+        }
+        this.stamps = new long[3];
+        this.back = 0;
+        this.middle = new AtomicInteger(1);
+        this.front = 2;
+        this.read = false;
+    }
+
+    /**
+     * Returns the writer's empty buffer, for a new snapshot. Called by the writing thread only.
+     *
+     * @param bytes the number of bytes the new snapshot takes.
+     * @return the buffer the snapshot should be written to.
+     */
+    public ByteBuffer write(int bytes) {
+        ByteBuffer buffer = this.buffers[this.back];
+        if (buffer.capacity() < bytes) {
+            // as in the snapshot ring, a margin keeps more balls from growing the buffer each tick.
+            buffer = ByteBuffer.allocate(bytes + bytes / 4);
+            this.buffers[this.back] = buffer;
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Publishes the snapshot which was written to the writer's buffer, as the newest one. Called by the writing
+     * thread only.
+     *
+     * @param stamp the time the snapshot was taken at, by System.nanoTime.
+     */
+    public void publish(long stamp) {
+        this.buffers[this.back].flip();
+        this.stamps[this.back] = stamp;
+        this.back = this.middle.getAndSet(this.back | FRESH) & INDEX;
+    }
+
+    /**
+     * Returns the newest published snapshot, from its start. Called by the reading thread only.
+     * The snapshot stays the reader's until a newer one is taken by the next call.
+     *
+     * @return the newest snapshot, or null if no snapshot was published yet.
+     */
+    public ByteBuffer read() {
+        if ((this.middle.get() & FRESH) != 0) {
+            this.front = this.middle.getAndSet(this.front) & INDEX;
+            this.read = true;
+        }
+        if (!this.read) {
+            return null;
+        }
+        ByteBuffer buffer = this.buffers[this.front];
+        buffer.rewind();
+        return buffer;
+    }
+
+    /**
+     * @return the time the snapshot which was last returned by read was taken at, by System.nanoTime.
+     */
+    public long readStamp() {
+        return this.stamps[this.front];
+    }
+}
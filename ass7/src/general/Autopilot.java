@@ -0,0 +1,118 @@
+package general;
+
+import animations.GameLevel;
+import collections.GameEnvironment;
+import geometry.Rectangle;
+import geometry.SegmentHit;
+import interfaces.Collidable;
+import interfaces.PaddleController;
+import sprites.Ball;
+import sprites.BallSystem;
+
+/**
+ * The Autopilot class.
+ * A paddle controller which plays the level by itself, for soak tests and demos.
+ * Each tick it forecasts where each ball will cross the paddle's line: the ball's path is cast as a ray through
+ * the game environment, and bounced off the blocks and the borders it hits, up to a given number of bounces.
+ * The paddle is steered to the ball which reaches the line first.
+ * The rays are searched by the game environment's collision index, and the forecast doesn't create new objects.
+ */
+public class Autopilot implements PaddleController {
+    // the length of each ray, which is longer than the screen's diagonal.
+    private static final double REACH = 2000;
+    private GameLevel level;
+    private int maxBounces;
+    private SegmentHit hit;
+    private double forecastX;
+    private double forecastTicks;
+
+    /**
+     * The constructor of a new Autopilot.
+     *
+     * @param level      the level the autopilot plays.
+     * @param maxBounces the most bounces each ball's path is forecast through.
+     */
+    public Autopilot(GameLevel level, int maxBounces) {
+        this.level = level;
+        this.maxBounces = maxBounces;
+        this.hit = new SegmentHit();
+    }
+
+    @Override
+    public double targetX(Rectangle paddle) {
+        BallSystem balls = this.level.getBallSystem();
+        double target = paddle.getMinX() + paddle.getWidth() / 2;
+        double soonest = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < balls.size(); i++) {
+            if (this.forecast(balls.get(i), paddle.getMinY()) && this.forecastTicks < soonest) {
+                soonest = this.forecastTicks;
+                target = this.forecastX;
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Forecasts where a given ball's center will cross a given line, and in how many ticks.
+     * The forecast is kept in the forecastX and forecastTicks fields.
+     *
+     * @param ball  the given ball.
+     * @param lineY the Y coordinate of the line.
+     * @return true if the ball crosses the line within the forecast bounces, and false otherwise.
+     */
+    private boolean forecast(Ball ball, double lineY) {
+        GameEnvironment environment = this.level.getEnvironment();
+        double x = ball.getCenterX();
+        double y = ball.getCenterY();
+        double dx = ball.getDx();
+        double dy = ball.getDy();
+        int radius = ball.getSize();
+        double speed = Math.sqrt(dx * dx + dy * dy);
+        if (speed == 0 || y > lineY) {
+            return false;
+        }
+        // each ray covers this number of ticks of the ball's movement.
+        double scale = REACH / speed;
+        double ticks = 0;
+        for (int bounce = 0; bounce <= this.maxBounces; bounce++) {
+            double rayX = dx * scale;
+            double rayY = dy * scale;
+            Collidable obj = environment.closestCollision(x, y, rayX, rayY, null, this.hit);
+            double t = obj == null ? 1 : this.hit.getT();
+            // the ball crosses the line before it hits anything else.
+            if (dy > 0) {
+                double lineT = (lineY - y) / rayY;
+                if (lineT <= t) {
+                    this.forecastX = x + rayX * lineT;
+                    this.forecastTicks = ticks + lineT * scale;
+                    return true;
+                }
+            }
+            if (obj == null) {
+                return false;
+            }
+            // the ball bounces as it does off a block: it's placed next to the side it hit, and turned back.
+            Rectangle rect = obj.getCollisionRectangle();
+            double colX = this.hit.getX();
+            double colY = this.hit.getY();
+            x = colX;
+            y = colY;
+            if (rect.isOnUp(colX, colY)) {
+                y = colY - radius;
+                dy = -dy;
+            } else if (rect.isOnDown(colX, colY)) {
+                y = colY + radius;
+                dy = -dy;
+            }
+            if (rect.isOnLeft(colX, colY)) {
+                x = colX - radius;
+                dx = -dx;
+            } else if (rect.isOnRight(colX, colY)) {
+                x = colX + radius;
+                dx = -dx;
+            }
+            ticks += t * scale;
+        }
+        return false;
+    }
+}
@@ -34,6 +34,15 @@ public class Counter {
         this.value -= number;
     }
 
+    /**
+     * Sets the counter's value to a given number.
+     *
+     * @param number the given number.
+     */
+    public void set(int number) {
+        this.value = number;
+    }
+
     /**
      * @return the counter's value.
      */
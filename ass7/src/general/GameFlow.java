@@ -32,6 +32,9 @@ public class GameFlow {
     private String stop;
     private String lose;
     private String winners;
+    private String levelsPath;
+    private File recordFile;
+    private boolean ballCollisions;
 
     /**
      * The constructor of a new Game flow, according to several given parameters.
@@ -55,6 +58,9 @@ public class GameFlow {
         this.win = null;
         this.stop = null;
         this.winners = null;
+        this.levelsPath = null;
+        this.recordFile = null;
+        this.ballCollisions = false;
     }
 
     /**
@@ -85,18 +91,49 @@ public class GameFlow {
         this.winners = winnerPath;
     }
 
+    /**
+     * Sets the game to be recorded, so it can be replayed by the headless replayer.
+     *
+     * @param path the path of the levels definitions file the levels are read from.
+     * @param file the file the recording is saved to, at the end of the game.
+     */
+    public void record(String path, File file) {
+        this.levelsPath = path;
+        this.recordFile = file;
+    }
+
+    /**
+     * Sets if the balls of the levels bounce off each other, or pass through each other, as they do by default.
+     *
+     * @param collide true for balls which bounce off each other.
+     */
+    public void setBallCollisions(boolean collide) {
+        this.ballCollisions = collide;
+    }
+
     /**
      * This method runs levels, according the order, which sets by the user.
      *
      * @param levels the list of the levels.
      */
     public void runLevels(List<LevelInformation> levels) {
+        // the levels are played by a keyboard which records their keys, if the game is recorded.
+        KeyboardSensor levelKeyboard = this.keyboard;
+        RecordingKeyboard recorder = null;
+        if (this.recordFile != null) {
+            recorder = new RecordingKeyboard(this.keyboard, new Recording(this.levelsPath, 0,
+                    this.score.getValue(), this.lives.getValue(), this.runner.getTicksPerSecond()));
+            recorder.getRecording().setBallCollisions(this.ballCollisions);
+            levelKeyboard = recorder;
+        }
         // runs the given levels until no more lives left.
         for (LevelInformation levelInfo : levels) {
             this.blocks = new Counter(levelInfo.numberOfBlocksToRemove());
-            GameLevel level = new GameLevel(levelInfo, this.runner, this.keyboard, this.lives, this.score, this.blocks);
+            GameLevel level = new GameLevel(levelInfo, this.runner, levelKeyboard, this.lives, this.score,
+                    this.blocks);
             level.setSizes(this.width, this.height, this.rectShort);
             level.setStopPath(this.stop);
+            level.setBallCollisions(this.ballCollisions);
             level.initialize();
             // run the current level as far as no lives or blocks left.
             while (this.lives.getValue() > 0 && this.blocks.getValue() > 0) {
@@ -114,6 +151,14 @@ public class GameFlow {
                 break;
             }
         }
+        if (recorder != null) {
+            try {
+                recorder.getRecording().save(this.recordFile);
+            } catch (IOException exp) {
+                System.err.println("Failed saving the recording");
+                exp.printStackTrace(System.err);
+            }
+        }
         EndScreen end = new EndScreen(this.lives, this.score);
         end.setBackground(this.win, this.lose);
         this.runner.run(new KeyPressStoppableAnimation(this.keyboard, KeyboardSensor.SPACE_KEY, end));
@@ -0,0 +1,397 @@
+package general;
+
+import biuoop.KeyboardSensor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The Recording class.
+ * A recording of a game session: the levels file and the level the session started at, the score and the lives
+ * at the start, if the balls bounced off each other, and the keys which were pressed in each tick of the levels.
+ * The keys of a tick are kept as a bit mask, and the ticks are kept as runs of the same mask, so the recording
+ * grows by a few bytes each time the keys change, and not each tick. In the file, all the numbers are written
+ * as varints - 7 bits in each byte, and the high bit tells if another byte follows.
+ */
+public class Recording {
+    /**
+     * The bit of the left key.
+     */
+    public static final int LEFT = 1;
+    /**
+     * The bit of the right key.
+     */
+    public static final int RIGHT = 2;
+    /**
+     * The bit of the pause key.
+     */
+    public static final int PAUSE = 4;
+    /**
+     * The bit of the space key.
+     */
+    public static final int SPACE = 8;
+    /**
+     * The bit of the rewind key.
+     */
+    public static final int REWIND = 16;
+    /**
+     * The pause key.
+     */
+    public static final String PAUSE_KEY = "p";
+    /**
+     * The rewind key.
+     */
+    public static final String REWIND_KEY = "r";
+    private static final byte[] MAGIC = {'A', 'R', 'K', 'R'};
+    // version 2 added the ball collisions flag.
+    private static final int VERSION = 2;
+    private String levelsPath;
+    private int firstLevel;
+    private int score;
+    private int lives;
+    private int ticksPerSecond;
+    private boolean ballCollisions;
+    private int[] masks;
+    private int[] lengths;
+    private int runs;
+    private long ticks;
+
+    /**
+     * The constructor of a new, empty, Recording.
+     *
+     * @param levelsPath     the path of the levels definitions file.
+     * @param firstLevel     the index of the level the session starts at.
+     * @param score          the score at the start.
+     * @param lives          the lives at the start.
+     * @param ticksPerSecond the ticks per second the levels are played at.
+     */
+    public Recording(String levelsPath, int firstLevel, int score, int lives, int ticksPerSecond) {
+        this.levelsPath = levelsPath;
+        this.firstLevel = firstLevel;
+        this.score = score;
+        this.lives = lives;
+        this.ticksPerSecond = ticksPerSecond;
+        this.ballCollisions = false;
+        this.masks = new int[16];
+        this.lengths = new int[16];
+        this.runs = 0;
+        this.ticks = 0;
+    }
+
+    /**
+     * Adds a tick to the recording.
+     *
+     * @param mask the bit mask of the keys which are pressed in the tick.
+     */
+    public void addTick(int mask) {
+        if (this.runs > 0 && this.masks[this.runs - 1] == mask && this.lengths[this.runs - 1] < Integer.MAX_VALUE) {
+            this.lengths[this.runs - 1]++;
+            this.ticks++;
+            return;
+        }
+        this.addRun(mask, 1);
+    }
+
+    /**
+     * Adds a run of ticks with the same keys to the recording.
+     *
+     * @param mask   the bit mask of the keys which are pressed in the ticks.
+     * @param length the number of ticks.
+     */
+    private void addRun(int mask, int length) {
+        if (this.runs == this.masks.length) {
+            this.masks = Arrays.copyOf(this.masks, this.runs * 2);
+            this.lengths = Arrays.copyOf(this.lengths, this.runs * 2);
+        }
+        this.masks[this.runs] = mask;
+        this.lengths[this.runs] = length;
+        this.runs++;
+        this.ticks += length;
+    }
+
+    /**
+     * Reads the keys which are pressed now, on a given keyboard.
+     *
+     * @param keyboard the given keyboard.
+     * @return the bit mask of the keys.
+     */
+    public static int maskOf(KeyboardSensor keyboard) {
+        int mask = 0;
+        if (keyboard.isPressed(KeyboardSensor.LEFT_KEY)) {
+            mask |= LEFT;
+        }
+        if (keyboard.isPressed(KeyboardSensor.RIGHT_KEY)) {
+            mask |= RIGHT;
+        }
+        if (keyboard.isPressed(PAUSE_KEY)) {
+            mask |= PAUSE;
+        }
+        if (keyboard.isPressed(KeyboardSensor.SPACE_KEY)) {
+            mask |= SPACE;
+        }
+        if (keyboard.isPressed(REWIND_KEY)) {
+            mask |= REWIND;
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the bit of a given key.
+     *
+     * @param key the given key.
+     * @return the bit of the key, or 0 if the key isn't recorded.
+     */
+    public static int bitOf(String key) {
+        if (KeyboardSensor.LEFT_KEY.equals(key)) {
+            return LEFT;
+        }
+        if (KeyboardSensor.RIGHT_KEY.equals(key)) {
+            return RIGHT;
+        }
+        if (PAUSE_KEY.equals(key)) {
+            return PAUSE;
+        }
+        if (KeyboardSensor.SPACE_KEY.equals(key)) {
+            return SPACE;
+        }
+        if (REWIND_KEY.equals(key)) {
+            return REWIND;
+        }
+        return 0;
+    }
+
+    /**
+     * @return the path of the levels definitions file.
+     */
+    public String getLevelsPath() {
+        return this.levelsPath;
+    }
+
+    /**
+     * @return the index of the level the session starts at.
+     */
+    public int getFirstLevel() {
+        return this.firstLevel;
+    }
+
+    /**
+     * @return the score at the start.
+     */
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * @return the lives at the start.
+     */
+    public int getLives() {
+        return this.lives;
+    }
+
+    /**
+     * @return the ticks per second the levels are played at.
+     */
+    public int getTicksPerSecond() {
+        return this.ticksPerSecond;
+    }
+
+    /**
+     * Sets if the balls of the levels bounced off each other in the session.
+     *
+     * @param collide true for balls which bounced off each other.
+     */
+    public void setBallCollisions(boolean collide) {
+        this.ballCollisions = collide;
+    }
+
+    /**
+     * @return true if the balls of the levels bounced off each other in the session, and false otherwise.
+     */
+    public boolean isBallCollisions() {
+        return this.ballCollisions;
+    }
+
+    /**
+     * @return the number of the recorded ticks.
+     */
+    public long getTicks() {
+        return this.ticks;
+    }
+
+    /**
+     * @return the number of the runs of ticks with the same keys.
+     */
+    public int getRuns() {
+        return this.runs;
+    }
+
+    /**
+     * @param run the index of a given run.
+     * @return the bit mask of the keys in the given run.
+     */
+    public int getMask(int run) {
+        return this.masks[run];
+    }
+
+    /**
+     * @param run the index of a given run.
+     * @return the number of ticks in the given run.
+     */
+    public int getLength(int run) {
+        return this.lengths[run];
+    }
+
+    /**
+     * Save the recording to a given file.
+     *
+     * @param file the given file.
+     * @throws IOException in case that the file's saving is failed.
+     */
+    public void save(File file) throws IOException {
+        OutputStream os = new BufferedOutputStream(new FileOutputStream(file));
+        try {
+            this.write(os);
+        } finally {
+            os.close();
+        }
+    }
+
+    /**
+     * Writes the recording to a given stream.
+     *
+     * @param os the given stream.
+     * @throws IOException in case that the writing is failed.
+     */
+    public void write(OutputStream os) throws IOException {
+        os.write(MAGIC);
+        writeVarint(os, VERSION);
+        byte[] path = this.levelsPath.getBytes(StandardCharsets.UTF_8);
+        writeVarint(os, path.length);
+        os.write(path);
+        writeVarint(os, this.firstLevel);
+        writeVarint(os, this.score);
+        writeVarint(os, this.lives);
+        writeVarint(os, this.ticksPerSecond);
+        writeVarint(os, this.ballCollisions ? 1 : 0);
+        writeVarint(os, this.runs);
+        for (int i = 0; i < this.runs; i++) {
+            writeVarint(os, this.masks[i]);
+            writeVarint(os, this.lengths[i]);
+        }
+    }
+
+    /**
+     * Load a recording from a given file.
+     *
+     * @param file the given file.
+     * @return the recording.
+     * @throws IOException in case that the file loading is failed, or it isn't a recording.
+     */
+    public static Recording load(File file) throws IOException {
+        InputStream is = new BufferedInputStream(new FileInputStream(file));
+        try {
+            return read(is);
+        } finally {
+            is.close();
+        }
+    }
+
+    /**
+     * Reads a recording from a given stream.
+     *
+     * @param is the given stream.
+     * @return the recording.
+     * @throws IOException in case that the reading is failed, or the stream isn't of a recording.
+     */
+    public static Recording read(InputStream is) throws IOException {
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (is.read() != MAGIC[i]) {
+                throw new IOException("Not a recording");
+            }
+        }
+        int version = readVarint(is);
+        if (version != VERSION) {
+            throw new IOException("Unknown recording version: " + version);
+        }
+        int pathLength = readVarint(is);
+        if (pathLength < 0) {
+            throw new IOException("Malformed levels path");
+        }
+        byte[] path = new byte[pathLength];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = (byte) readByte(is);
+        }
+        Recording recording = new Recording(new String(path, StandardCharsets.UTF_8), readVarint(is),
+                readVarint(is), readVarint(is), readVarint(is));
+        recording.setBallCollisions(readVarint(is) != 0);
+        int runs = readVarint(is);
+        for (int i = 0; i < runs; i++) {
+            int mask = readVarint(is);
+            int length = readVarint(is);
+            if (length <= 0) {
+                throw new IOException("Malformed run of ticks");
+            }
+            recording.addRun(mask, length);
+        }
+        return recording;
+    }
+
+    /**
+     * Writes a given non-negative number as a varint.
+     *
+     * @param os    the stream.
+     * @param value the given number.
+     * @throws IOException in case that the writing is failed.
+     */
+    private static void writeVarint(OutputStream os, int value) throws IOException {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            os.write((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        os.write(v);
+    }
+
+    /**
+     * Reads a varint.
+     *
+     * @param is the stream.
+     * @return the number.
+     * @throws IOException in case that the reading is failed, or the varint is too long.
+     */
+    private static int readVarint(InputStream is) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte(is);
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Reads a byte, which must be there.
+     *
+     * @param is the stream.
+     * @return the byte.
+     * @throws IOException in case that the reading is failed, or the stream ended.
+     */
+    private static int readByte(InputStream is) throws IOException {
+        int b = is.read();
+        if (b < 0) {
+            throw new EOFException("The recording ended too early");
+        }
+        return b;
+    }
+}
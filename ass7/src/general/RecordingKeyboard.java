@@ -0,0 +1,59 @@
+package general;
+
+import biuoop.KeyboardSensor;
+import interfaces.TickedKeyboard;
+
+/**
+ * The Recording keyboard class.
+ * A keyboard sensor which records the keys of another keyboard in each tick.
+ * The recorded keys are read once, at the start of the tick, and the level reads them from that copy,
+ * so a replay of the recording reads exactly the same keys. The keys which aren't recorded, and the keys read
+ * between the ticks (as by the pause screen), are read from the other keyboard.
+ */
+public class RecordingKeyboard implements TickedKeyboard {
+    private KeyboardSensor keyboard;
+    private Recording recording;
+    private int mask;
+    private boolean inTick;
+
+    /**
+     * The constructor of a new Recording keyboard.
+     *
+     * @param keyboard  the keyboard whose keys are recorded.
+     * @param recording the recording the keys are added to.
+     */
+    public RecordingKeyboard(KeyboardSensor keyboard, Recording recording) {
+        this.keyboard = keyboard;
+        this.recording = recording;
+        this.mask = 0;
+        this.inTick = false;
+    }
+
+    @Override
+    public void nextTick() {
+        this.mask = Recording.maskOf(this.keyboard);
+        this.recording.addTick(this.mask);
+        this.inTick = true;
+    }
+
+    @Override
+    public void endTick() {
+        this.inTick = false;
+    }
+
+    /**
+     * @return the recording the keys are added to.
+     */
+    public Recording getRecording() {
+        return this.recording;
+    }
+
+    @Override
+    public boolean isPressed(String key) {
+        int bit = Recording.bitOf(key);
+        if (bit == 0 || !this.inTick) {
+            return this.keyboard.isPressed(key);
+        }
+        return (this.mask & bit) != 0;
+    }
+}
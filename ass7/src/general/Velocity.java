@@ -4,6 +4,8 @@ import geometry.Point;
 
 /**
  * The Velocity class.
+ * A velocity can be changed in place, so a ball's step and the hits of the collidables don't create new
+ * velocities. A velocity which is shared, such as the initial velocities of a level, shouldn't be changed.
  */
 public class Velocity {
     private double dx;
@@ -28,12 +30,45 @@ public class Velocity {
      * @return the new velocity object.
      */
     public static Velocity fromAngleAndSpeed(double angle, double speed) {
+        Velocity v = new Velocity(0, 0);
+        v.setAngleAndSpeed(angle, speed);
+        return v;
+    }
+
+    /**
+     * creates a new velocity, which is a given velocity multiplied by a given factor.
+     *
+     * @param v      the given velocity.
+     * @param factor the given factor.
+     * @return the new velocity object.
+     */
+    public static Velocity scaled(Velocity v, double factor) {
+        return new Velocity(v.getDx() * factor, v.getDy() * factor);
+    }
+
+    /**
+     * Changes the velocity in place to given dx and dy.
+     *
+     * @param newDx the change of the X coordinate.
+     * @param newDy the change of the Y coordinate.
+     */
+    public void set(double newDx, double newDy) {
+        this.dx = newDx;
+        this.dy = newDy;
+    }
+
+    /**
+     * Changes the velocity in place to a given angle and speed.
+     *
+     * @param angle the angle of velocity.
+     * @param speed the speed of velocity.
+     */
+    public void setAngleAndSpeed(double angle, double speed) {
         double radAngle = Math.toRadians(angle);
         double sin = Math.sin(radAngle);
         double cos = Math.cos(radAngle);
-        double dx = sin * speed;
-        double dy = -1 * cos * speed;
-        return new Velocity(dx, dy);
+        this.dx = sin * speed;
+        this.dy = -1 * cos * speed;
     }
 
     /**
@@ -1,29 +1,38 @@
 package geometry;
 
-import java.util.List;
-
 /**
  * geometry_primitives.Line class.
  */
 public class Line {
+    private static final double EPSILON = 1e-9;
+    private double x1;
+    private double y1;
+    private double x2;
+    private double y2;
     private double length;
     private Point start;
     private Point end;
 
     /**
      * Creates a new geometry_primitives.Line from two given points.
+     * Points can't be changed, so the line keeps the given points, and its length is calculated only when needed.
      *
      * @param start the start point of the line.
      * @param end   the end point of the line.
      */
     public Line(Point start, Point end) {
-        this.start = new Point(start.getX(), start.getY());
-        this.end = new Point(end.getX(), end.getY());
-        this.length = this.start.distance(this.end);
+        this.x1 = start.getX();
+        this.y1 = start.getY();
+        this.x2 = end.getX();
+        this.y2 = end.getY();
+        this.start = start;
+        this.end = end;
+        this.length = -1;
     }
 
     /**
      * Creates a new geometry_primitives.Line from two X coordinates and two Y coordinates.
+     * The start and end points are created only when needed.
      *
      * @param x1 the first X coordinate.
      * @param y1 the first Y coordinate.
@@ -31,9 +40,13 @@ public class Line {
      * @param y2 the second y coordinate.
      */
     public Line(double x1, double y1, double x2, double y2) {
-        this.start = new Point(x1, y1);
-        this.end = new Point(x2, y2);
-        this.length = this.start.distance(this.end);
+        this.x1 = x1;
+        this.y1 = y1;
+        this.x2 = x2;
+        this.y2 = y2;
+        this.start = null;
+        this.end = null;
+        this.length = -1;
     }
 
     /**
@@ -42,9 +55,21 @@ public class Line {
      * @return the line's length.
      */
     public double length() {
+        if (this.length < 0) {
+            this.length = Math.sqrt(this.squaredLength());
+        }
         return this.length;
     }
 
+    /**
+     * Squared length double.
+     *
+     * @return the line's squared length, which is calculated without a square root.
+     */
+    public double squaredLength() {
+        return (this.x2 - this.x1) * (this.x2 - this.x1) + (this.y2 - this.y1) * (this.y2 - this.y1);
+    }
+
     /**
      * Middle point.
      *
@@ -52,9 +77,9 @@ public class Line {
      */
     public Point middle() {
         //get the x coordinate of the middle point.
-        double midX = (this.start.getX() + this.end.getX()) / 2;
+        double midX = (this.x1 + this.x2) / 2;
         //get the y coordinate of the middle point.
-        double midY = (this.start.getY() + this.end.getY()) / 2;
+        double midY = (this.y1 + this.y2) / 2;
         return new Point(midX, midY);
     }
 
@@ -64,6 +89,9 @@ public class Line {
      * @return the start point of the line.
      */
     public Point start() {
+        if (this.start == null) {
+            this.start = new Point(this.x1, this.y1);
+        }
         return this.start;
     }
 
@@ -73,6 +101,9 @@ public class Line {
      * @return the end point of the line.
      */
     public Point end() {
+        if (this.end == null) {
+            this.end = new Point(this.x2, this.y2);
+        }
         return this.end;
     }
 
@@ -83,221 +114,159 @@ public class Line {
      * @return true if the lines intersect, false otherwise.
      */
     public boolean isIntersecting(Line other) {
-        if (intersectionWith(other) == null) {
-            return false;
-        }
-        return true;
-    }
-
-    /**
-     * Finds the minimum number between two numbers.
-     *
-     * @param n1 the first number to check.
-     * @param n2 the second number to check.
-     * @return the minimum number.
-     */
-    private double min(double n1, double n2) {
-        if (n1 <= n2) {
-            return n1;
-        }
-        return n2;
-    }
-
-    /**
-     * Finds the maximum number between two numbers.
-     *
-     * @param n1 the first number to check.
-     * @param n2 the second number to check.
-     * @return the maximum number.
-     */
-    private double max(double n1, double n2) {
-        if (n1 >= n2) {
-            return n1;
-        }
-        return n2;
+        return this.intersectionWith(other.x1, other.y1, other.x2, other.y2, new SegmentHit());
     }
 
     /**
      * Finds the intersection point of the lines.
-     * Explanation about the variables: minuCur - the minimum x coordinate of current line.
-     * maxother - the maximum x coordinate of other line.
-     * maxCur - the maximum x coordinate of current line.
-     * minOther - the minimum x coordinate of other line.
-     * slope1 - the slope of current line.
-     * slope2 - the slope of other line.
-     * interX - X coordinate of intersection's point.
-     * interY - Y coordinate of intersection's point.
+     * It is a wrapper of the primitive intersection method.
      *
      * @param other the line compared with current line.
      * @return the intersection point of the lines. In case that the lines don't intersect, the return value is null.
      */
     public Point intersectionWith(Line other) {
-        double minCur;
-        double maxOther;
-        double maxCur;
-        double minOther;
-        double slope1;
-        double slope2;
-        double interX;
-        double interY;
-        if (isPoint(this)) {
-            if (isPoint(other)) {
-                if (this.equals(other)) {
-                    return new Point(this.start().getX(), this.start().getX());
-                } else {
-                    return null;
-                }
-            }
+        SegmentHit hit = new SegmentHit();
+        if (!this.intersectionWith(other.x1, other.y1, other.x2, other.y2, hit)) {
+            return null;
         }
-        if (isVertical(this)) {
-            if (isVertical(other)) {
-                //current is vertical, other is a point.
-                if (isPoint(other)) {
-                    // other's X coordinate in the range of current's X coordinate.
-                    if (inRange(this.start().getX(), this.end().getX(), other.start().getX())) {
-                        Point inter = new Point(other.start().getX(), other.start().getY());
-                        if (this.isContain(inter)) {
-                            return inter;
-                        }
-                    }
-                    return null;
-                    // other isn't a point.
-                } else {
-                    // other and current have the same x coordinate.
-                    if (this.start().getX() == other.start().getX()) {
-                        //both current and other are vertical lines.
-                        minCur = min(this.end().getY(), this.start().getY());
-                        maxOther =
-                                max(other.end().getY(), other.start().getY());
-                        // special case: both lines are vertical, the bottom of current line is the top of other.
-                        if (minCur == maxOther) {
-                            return new Point(other.start().getX(), maxOther);
-                        }
-                        maxCur = max(this.end().getY(), this.start().getY());
-                        minOther = min(other.end().getY(), other.start().getY());
-                        // special case: both lines are vertical, the top of current line is the bottom of other.
-                        if (maxCur == minOther) {
-                            return new Point(other.start().getX(), minOther);
-                        }
-                    }
-                    // the lines are parallel or one of the line contains the other.
-                    return null;
-                }
-                // current is vertical, other isn't.
-            } else {
-                slope2 = getSlope(other.start(), other.end());
-                interX = this.end().getX();
-                interY = getInterY(slope2, other.start(), interX);
-            }
-            // current isn't vertical.
-        } else {
-            slope1 = getSlope(this.start, this.end);
-            // other is a point or vertical.
-            if (isVertical(other)) {
-                interX = other.end().getX();
-                interY = getInterY(slope1, this.start(), interX);
-                // current and other aren't vertical.
-            } else {
-                slope2 = getSlope(other.start(), other.end());
-                // the lines are parallel or the same line.
-                if (slope1 == slope2) {
-                    return null;
-                }
-                interX = getInterX(slope1, slope2, this.start, other.start());
-                interY = getInterY(slope1, this.start, interX);
-            }
-        }
-        Point inter = new Point(interX, interY);
-        // the points is contained in both of lines.
-        if (this.isContain(inter) && other.isContain(inter)) {
-            return inter;
-        }
-        return null;
+        return new Point(hit.getX(), hit.getY());
     }
 
     /**
-     * Check if the line is vertical.
+     * Finds the intersection point of this line with the line from (x3, y3) to (x4, y4), without creating objects.
+     * Explanation of the calculation: this line is p + t*r and the other line is q + u*s, for t and u in [0, 1].
+     * If r x s isn't 0, the lines' directions aren't parallel, and t = ((q - p) x s) / (r x s),
+     * u = ((q - p) x r) / (r x s). Otherwise, the lines are parallel, and they intersect only if they are on the
+     * same line and touch each other at exactly one point.
+     * The parameter of the hit is t, the parameter of the intersection point on this line.
      *
-     * @param l the line to check.
-     * @return if the line is vertical returns true, otherwise returns false.
+     * @param x3  the X coordinate of the other line's start.
+     * @param y3  the Y coordinate of the other line's start.
+     * @param x4  the X coordinate of the other line's end.
+     * @param y4  the Y coordinate of the other line's end.
+     * @param hit the holder the intersection is written to, if there is one.
+     * @return true if the lines intersect, and false otherwise.
      */
-    private boolean isVertical(Line l) {
-        if (l.end().getX() == l.start().getX()) {
+    public boolean intersectionWith(double x3, double y3, double x4, double y4, SegmentHit hit) {
+        double rx = this.x2 - this.x1;
+        double ry = this.y2 - this.y1;
+        double sx = x4 - x3;
+        double sy = y4 - y3;
+        // q - p
+        double qpx = x3 - this.x1;
+        double qpy = y3 - this.y1;
+        double denominator = cross(rx, ry, sx, sy);
+        if (denominator != 0) {
+            double t = cross(qpx, qpy, sx, sy) / denominator;
+            double u = cross(qpx, qpy, rx, ry) / denominator;
+            // a small tolerance keeps shared end points from being lost to rounding.
+            if (t < -EPSILON || t > 1 + EPSILON || u < -EPSILON || u > 1 + EPSILON) {
+                return false;
+            }
+            t = Math.max(0, Math.min(1, t));
+            // on a horizontal or vertical line, the intersection keeps the line's exact coordinate.
+            double interX = rx == 0 ? this.x1 : this.x1 + t * rx;
+            double interY = ry == 0 ? this.y1 : this.y1 + t * ry;
+            hit.set(t, interX, interY, null);
             return true;
         }
-        return false;
+        // the lines are parallel, but not on the same line.
+        if (cross(qpx, qpy, rx, ry) != 0 || cross(qpx, qpy, sx, sy) != 0) {
+            return false;
+        }
+        return this.touchingPoint(x3, y3, x4, y4, hit);
     }
 
     /**
-     * Calculate the slope of the line.
-     * Explanation of the calculation: y1-y2=m(x1-x2) -> m=(y1-y2)/(x1-x2).
+     * Finds the single point two lines on the same line share, by projecting their points on the longer one.
      *
-     * @param p1 first point of the line.
-     * @param p2 second point of the line.
-     * @return the line's slope.
+     * @param x3  the X coordinate of the other line's start.
+     * @param y3  the Y coordinate of the other line's start.
+     * @param x4  the X coordinate of the other line's end.
+     * @param y4  the Y coordinate of the other line's end.
+     * @param hit the holder the point is written to, if there is one.
+     * @return true if the lines share exactly one point, and false otherwise.
      */
-    private double getSlope(Point p1, Point p2) {
-        // x1-x2
-        double dx = p1.getX() - p2.getX();
-        // y1-y2
-        double dy = p1.getY() - p2.getY();
-        return dy / dx;
+    private boolean touchingPoint(double x3, double y3, double x4, double y4, SegmentHit hit) {
+        double rx = this.x2 - this.x1;
+        double ry = this.y2 - this.y1;
+        double dirX = rx;
+        double dirY = ry;
+        if (rx * rx + ry * ry < (x4 - x3) * (x4 - x3) + (y4 - y3) * (y4 - y3)) {
+            dirX = x4 - x3;
+            dirY = y4 - y3;
+        }
+        // both lines are points.
+        if (dirX == 0 && dirY == 0) {
+            if (this.x1 == x3 && this.y1 == y3) {
+                hit.set(0, x3, y3, null);
+                return true;
+            }
+            return false;
+        }
+        double a1 = this.x1 * dirX + this.y1 * dirY;
+        double a2 = this.x2 * dirX + this.y2 * dirY;
+        double b1 = x3 * dirX + y3 * dirY;
+        double b2 = x4 * dirX + y4 * dirY;
+        double low = Math.max(Math.min(a1, a2), Math.min(b1, b2));
+        double high = Math.min(Math.max(a1, a2), Math.max(b1, b2));
+        // the lines don't meet, or they share more than one point.
+        if (low != high) {
+            return false;
+        }
+        double interX = x3;
+        double interY = y3;
+        if (low == a1) {
+            interX = this.x1;
+            interY = this.y1;
+        } else if (low == a2) {
+            interX = this.x2;
+            interY = this.y2;
+        } else if (low == b2) {
+            interX = x4;
+            interY = y4;
+        }
+        double t = 0;
+        if (rx != 0 || ry != 0) {
+            t = ((interX - this.x1) * rx + (interY - this.y1) * ry) / (rx * rx + ry * ry);
+        }
+        hit.set(t, interX, interY, null);
+        return true;
     }
 
     /**
-     * Calculate the intersection's X coordinate.
-     * Explanation of the calculation:
-     * geometry_primitives.Line 1's equation: y-y1= m1(x-x1) -> y=m1(x-x1)+y1.
-     * geometry_primitives.Line 2's equation: y-y2= m2(x-x2) -> y=m2(x-x2)+y2.
-     * If the lines intersect, the equations are equal:
-     * m1(x-x1)+y1=m2(x-x2)+y2 -> x=(m2x2-y2-(m1x1-y1))/(m2-m1).
+     * Calculates the cross product of two vectors: (ax, ay) x (bx, by) = ax * by - ay * bx.
      *
-     * @param slope1 the current line's slope.
-     * @param slope2 the compared line's slope.
-     * @param start1 point of the current line.
-     * @param start2 point of the compared line.
-     * @return the intersection's X coordinate.
+     * @param ax the X of the first vector.
+     * @param ay the Y of the first vector.
+     * @param bx the X of the second vector.
+     * @param by the Y of the second vector.
+     * @return the cross product.
      */
-    private double getInterX(double slope1, double slope2, Point start1, Point start2) {
-        // m2-m1
-        double dm = slope2 - slope1;
-        // equation2: m2x2-y2
-        double eq2 = slope2 * start2.getX() - start2.getY();
-        // equation1: m1x1-y1.
-        double eq1 = slope1 * start1.getX() - start1.getY();
-        return (eq2 - eq1) / dm;
+    private static double cross(double ax, double ay, double bx, double by) {
+        return ax * by - ay * bx;
     }
 
     /**
-     * Calculate the intersection's Y coordinate.
-     * Explanation of the calculation:
-     * line's equation: y-y1= m1(x-x1) -> y=m1(x-x1)+y1
+     * Checks if the point in the coordinate range of the line.
      *
-     * @param slope1 the line's slope.
-     * @param start1 a point of the line.
-     * @param xInter intersection's X coordinate.
-     * @return the intersection's Y coordinate.
+     * @param p the checked point.
+     * @return true if the point in the coordinate range of the line, and returns false otherwise.
      */
-    private double getInterY(double slope1, Point start1, double xInter) {
-        // x-x1
-        double dx = xInter - start1.getX();
-        return slope1 * dx + start1.getY();
+    public boolean isContain(Point p) {
+        return this.isContain(p.getX(), p.getY());
     }
 
     /**
-     * Checks if the point in the coordinate range of the line.
+     * Checks if the point (x, y) in the coordinate range of the line, without creating objects.
      *
-     * @param p the checked point.
+     * @param x the X coordinate of the checked point.
+     * @param y the Y coordinate of the checked point.
      * @return true if the point in the coordinate range of the line, and returns false otherwise.
      */
-    public boolean isContain(Point p) {
+    public boolean isContain(double x, double y) {
         // check that point's coordinates is in geometry_primitives.Line's coordinates range.
-        if (inRange(this.end().getX(), this.start().getX(), p.getX())) {
-            if (inRange(this.end().getY(), this.start().getY(), p.getY())) {
-                return true;
-            }
-        }
-        return false;
+        return inRange(this.x2, this.x1, x) && inRange(this.y2, this.y1, y);
     }
 
     /**
@@ -319,22 +288,6 @@ public class Line {
         return false;
     }
 
-    /**
-     * Checks if a given line is a point.
-     * geometry_primitives.Line is considered a point if it's start and end points are equal.
-     *
-     * @param l the checked line.
-     * @return true if the line in a point, and return false otherwise.
-     */
-    private boolean isPoint(Line l) {
-        if (l.start().getX() == l.end().getX()) {
-            if (l.start().getY() == l.end().getY()) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     /**
      * Checks if two given lines are equal each other.
      *
@@ -342,15 +295,15 @@ public class Line {
      * @return true if the lines are equal, and returns false otherwise.
      */
     public boolean equals(Line other) {
-        if (this.start.equals(other.start())) {
-            if (this.end.equals(other.end())) {
+        if (this.start().equals(other.start())) {
+            if (this.end().equals(other.end())) {
                 // start's and end's points of current line
                 // equal to matching points of other.
                 return true;
             }
         } else {
-            if (this.start.equals(other.end())) {
-                if (this.end.equals(other.start())) {
+            if (this.start().equals(other.end())) {
+                if (this.end().equals(other.start())) {
                     // start's point of current equals to end's point of other,
                     // and end's point of current equals to start's point of other.
                     return true;
@@ -365,27 +318,16 @@ public class Line {
      * The method calculates the closest intersection of a given rectangle with the start of line point.
      * If this line does not intersect with the rectangle, it returns null.
      * Otherwise, it returns the closest intersection point to the start of the line.
+     * It is a wrapper of the rectangle's slab test, which compares the line's parameters instead of distances.
      *
      * @param rect the given rectangle.
      * @return the closest intersection.
      */
     public Point closestIntersectionToStartOfLine(Rectangle rect) {
-        double minlength = 0;
-        Point closest = null;
-        int flag = 0;
-        List<Point> intersection = rect.intersectionPoints(this);
-        for (Point intersect : intersection) {
-            if (flag == 0) {
-                minlength = this.start.distance(intersect);
-                closest = intersect;
-                flag = 1;
-            } else {
-                if (this.start.distance(intersect) < minlength) {
-                    minlength = this.start.distance(intersect);
-                    closest = intersect;
-                }
-            }
+        SegmentHit hit = new SegmentHit();
+        if (!rect.intersectSegment(this.x1, this.y1, this.x2 - this.x1, this.y2 - this.y1, hit)) {
+            return null;
         }
-        return closest;
+        return new Point(hit.getX(), hit.getY());
     }
-}
\ No newline at end of file
+}
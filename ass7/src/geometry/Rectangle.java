@@ -6,11 +6,15 @@ import java.util.ArrayList;
 /**
  * The geometry_primitives.Rectangle class.
  * It describes an popular shape of game's sprites.
+ * The rectangle keeps its bounds as numbers, and creates its upper left point and its sides only when
+ * they're asked for, so a rectangle can be moved without creating new objects.
  */
 public class Rectangle {
-    private Point upLeft;
+    private double x;
+    private double y;
     private double width;
     private double height;
+    private Point upLeft;
     private Line up;
     private Line down;
     private Line left;
@@ -25,16 +29,44 @@ public class Rectangle {
      * @param height    the height
      */
     public Rectangle(Point upperLeft, double width, double height) {
+        this(upperLeft.getX(), upperLeft.getY(), width, height);
         this.upLeft = upperLeft;
+    }
+
+    /**
+     * The constructor of a new geometry_primitives.Rectangle, from the coordinates of its upper left point.
+     *
+     * @param x      the X coordinate of the upper left point.
+     * @param y      the Y coordinate of the upper left point.
+     * @param width  the width
+     * @param height the height
+     */
+    public Rectangle(double x, double y, double width, double height) {
+        this.x = x;
+        this.y = y;
         this.width = width;
         this.height = height;
-        Point upRight = new Point(this.upLeft.getX() + this.width, this.upLeft.getY());
-        Point downRight = new Point(this.upLeft.getX() + this.width, this.upLeft.getY() + this.height);
-        Point downLeft = new Point(this.upLeft.getX(), this.upLeft.getY() + this.height);
-        this.up = new Line(this.getUpperLeft(), upRight);
-        this.down = new Line(downLeft, downRight);
-        this.right = new Line(downRight, upRight);
-        this.left = new Line(this.getUpperLeft(), downLeft);
+    }
+
+    /**
+     * Moves the rectangle, so its upper left point is at the given coordinates.
+     * The rectangle is changed in place, so it should be moved only by its owner, between the steps of the
+     * other sprites, and the points and sides which were taken before the move keep the old location.
+     *
+     * @param newX the new X coordinate of the upper left point.
+     * @param newY the new Y coordinate of the upper left point.
+     */
+    public void moveTo(double newX, double newY) {
+        if (newX == this.x && newY == this.y) {
+            return;
+        }
+        this.x = newX;
+        this.y = newY;
+        this.upLeft = null;
+        this.up = null;
+        this.down = null;
+        this.left = null;
+        this.right = null;
     }
 
     /**
@@ -45,23 +77,152 @@ public class Rectangle {
      */
     public java.util.List<Point> intersectionPoints(Line line) {
         Line[] rectangle = new Line[4];
-        Point intersect;
+        SegmentHit hit = new SegmentHit();
         List<Point> intersection = new ArrayList<>();
         // creates an array of the rectangle's sides.
-        rectangle[0] = this.left;
-        rectangle[1] = this.right;
-        rectangle[2] = this.up;
-        rectangle[3] = this.down;
+        rectangle[0] = this.getLeft();
+        rectangle[1] = this.getRight();
+        rectangle[2] = this.getUp();
+        rectangle[3] = this.getDown();
         // checks if the given line intersects with the rectangle's sides.
         for (int i = 0; i < rectangle.length; i++) {
-            intersect = rectangle[i].intersectionWith(line);
-            if (intersect != null) {
-                intersection.add(intersect);
+            if (rectangle[i].intersectionWith(line.start().getX(), line.start().getY(),
+                    line.end().getX(), line.end().getY(), hit)) {
+                intersection.add(new Point(hit.getX(), hit.getY()));
             }
         }
         return intersection;
     }
 
+    /**
+     * Finds where a given segment hits the rectangle, by the slab method, without creating new objects.
+     * If the segment starts outside the rectangle, the hit is where it enters the rectangle,
+     * and if it starts inside, the hit is where it leaves it - same as the closest of the intersection points.
+     * The segment is given by its start point and the change of the coordinates along it.
+     *
+     * @param x0  the X coordinate of the segment's start.
+     * @param y0  the Y coordinate of the segment's start.
+     * @param dx  the change of the X coordinate along the segment.
+     * @param dy  the change of the Y coordinate along the segment.
+     * @param hit the holder the hit is written to, if there is one.
+     * @return true if the segment hits the rectangle, and false otherwise.
+     */
+    public boolean intersectSegment(double x0, double y0, double dx, double dy, SegmentHit hit) {
+        double minX = this.x;
+        double minY = this.y;
+        double maxX = minX + this.width;
+        double maxY = minY + this.height;
+        double tMin = Double.NEGATIVE_INFINITY;
+        double tMax = Double.POSITIVE_INFINITY;
+        Side minSide = null;
+        Side maxSide = null;
+        if (dx == 0) {
+            if (x0 < minX || x0 > maxX) {
+                return false;
+            }
+        } else {
+            tMin = ((dx > 0 ? minX : maxX) - x0) / dx;
+            tMax = ((dx > 0 ? maxX : minX) - x0) / dx;
+            minSide = dx > 0 ? Side.LEFT : Side.RIGHT;
+            maxSide = dx > 0 ? Side.RIGHT : Side.LEFT;
+        }
+        if (dy == 0) {
+            if (y0 < minY || y0 > maxY) {
+                return false;
+            }
+        } else {
+            double near = ((dy > 0 ? minY : maxY) - y0) / dy;
+            double far = ((dy > 0 ? maxY : minY) - y0) / dy;
+            if (near > tMin) {
+                tMin = near;
+                minSide = dy > 0 ? Side.UP : Side.DOWN;
+            }
+            if (far < tMax) {
+                tMax = far;
+                maxSide = dy > 0 ? Side.DOWN : Side.UP;
+            }
+        }
+        if (tMin > tMax) {
+            return false;
+        }
+        double t;
+        Side side;
+        if (tMin >= 0) {
+            // the segment starts outside, and enters the rectangle.
+            t = tMin;
+            side = minSide;
+        } else {
+            // the segment starts inside, and leaves the rectangle.
+            // a segment which starts on a side and goes away from the rectangle doesn't hit it.
+            t = tMax;
+            side = maxSide;
+            if (t <= 0) {
+                return false;
+            }
+        }
+        if (t > 1) {
+            return false;
+        }
+        // the hit point is put exactly on the side which was hit.
+        double x = Math.max(minX, Math.min(maxX, x0 + t * dx));
+        double y = Math.max(minY, Math.min(maxY, y0 + t * dy));
+        if (side == Side.LEFT) {
+            x = minX;
+        } else if (side == Side.RIGHT) {
+            x = maxX;
+        } else if (side == Side.UP) {
+            y = minY;
+        } else {
+            y = maxY;
+        }
+        hit.set(t, x, y, side);
+        return true;
+    }
+
+    /**
+     * Checks if a given point is on the rectangle's up side, same as the up side's isContain.
+     *
+     * @param px the X coordinate of the point.
+     * @param py the Y coordinate of the point.
+     * @return true if the point is on the up side, and false otherwise.
+     */
+    public boolean isOnUp(double px, double py) {
+        return py == this.y && px >= this.x && px <= this.getMaxX();
+    }
+
+    /**
+     * Checks if a given point is on the rectangle's down side, same as the down side's isContain.
+     *
+     * @param px the X coordinate of the point.
+     * @param py the Y coordinate of the point.
+     * @return true if the point is on the down side, and false otherwise.
+     */
+    public boolean isOnDown(double px, double py) {
+        return py == this.getMaxY() && px >= this.x && px <= this.getMaxX();
+    }
+
+    /**
+     * Checks if a given point is on the rectangle's left side, same as the left side's isContain.
+     *
+     * @param px the X coordinate of the point.
+     * @param py the Y coordinate of the point.
+     * @return true if the point is on the left side, and false otherwise.
+     */
+    public boolean isOnLeft(double px, double py) {
+        return px == this.x && py >= this.y && py <= this.getMaxY();
+    }
+
+    /**
+     * Checks if a given point is on the rectangle's right side, same as the right side's isContain.
+     *
+     * @param px the X coordinate of the point.
+     * @param py the Y coordinate of the point.
+     * @return true if the point is on the right side, and false otherwise.
+     */
+    public boolean isOnRight(double px, double py) {
+        return px == this.getMaxX() && py >= this.y && py <= this.getMaxY();
+    }
+
     /**
      * @return the rectangle's width.
      */
@@ -76,10 +237,41 @@ public class Rectangle {
         return this.height;
     }
 
+    /**
+     * @return the X coordinate of the rectangle's left side.
+     */
+    public double getMinX() {
+        return this.x;
+    }
+
+    /**
+     * @return the Y coordinate of the rectangle's up side.
+     */
+    public double getMinY() {
+        return this.y;
+    }
+
+    /**
+     * @return the X coordinate of the rectangle's right side.
+     */
+    public double getMaxX() {
+        return this.x + this.width;
+    }
+
+    /**
+     * @return the Y coordinate of the rectangle's down side.
+     */
+    public double getMaxY() {
+        return this.y + this.height;
+    }
+
     /**
      * @return the upper left point of the rectangle.
      */
     public Point getUpperLeft() {
+        if (this.upLeft == null) {
+            this.upLeft = new Point(this.x, this.y);
+        }
         return this.upLeft;
     }
 
@@ -87,6 +279,9 @@ public class Rectangle {
      * @return the rectangle's up side.
      */
     public Line getUp() {
+        if (this.up == null) {
+            this.up = new Line(this.x, this.y, this.getMaxX(), this.y);
+        }
         return this.up;
     }
 
@@ -94,6 +289,9 @@ public class Rectangle {
      * @return the rectangle's left side.
      */
     public Line getLeft() {
+        if (this.left == null) {
+            this.left = new Line(this.x, this.y, this.x, this.getMaxY());
+        }
         return this.left;
     }
 
@@ -101,6 +299,9 @@ public class Rectangle {
      * @return the rectangle's right side.
      */
     public Line getRight() {
+        if (this.right == null) {
+            this.right = new Line(this.getMaxX(), this.getMaxY(), this.getMaxX(), this.y);
+        }
         return this.right;
     }
 
@@ -108,6 +309,9 @@ public class Rectangle {
      * @return the rectangle's down side.
      */
     public Line getDown() {
+        if (this.down == null) {
+            this.down = new Line(this.x, this.getMaxY(), this.getMaxX(), this.getMaxY());
+        }
         return this.down;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,91 @@
+package geometry;
+
+/**
+ * The Segment hit class.
+ * It is a reusable holder of the place where a segment hits a shape,
+ * so finding a hit doesn't have to create new objects.
+ * The place is kept as the segment's parameter (0 at the segment's start and 1 at its end), the hit point,
+ * and the side of the rectangle which was hit.
+ */
+public class SegmentHit {
+    private double t;
+    private double x;
+    private double y;
+    private Side side;
+
+    /**
+     * The constructor of a new Segment hit, which holds no hit.
+     */
+    public SegmentHit() {
+        this.reset();
+    }
+
+    /**
+     * Clear the hit, so any found hit is closer than it.
+     */
+    public void reset() {
+        this.t = Double.POSITIVE_INFINITY;
+        this.x = 0;
+        this.y = 0;
+        this.side = null;
+    }
+
+    /**
+     * Sets the hit according to the given parameters.
+     *
+     * @param param   the segment's parameter at the hit point.
+     * @param hitX    the X coordinate of the hit point.
+     * @param hitY    the Y coordinate of the hit point.
+     * @param hitSide the side which was hit.
+     */
+    public void set(double param, double hitX, double hitY, Side hitSide) {
+        this.t = param;
+        this.x = hitX;
+        this.y = hitY;
+        this.side = hitSide;
+    }
+
+    /**
+     * Sets the hit to be the same as the given hit.
+     *
+     * @param other the given hit.
+     */
+    public void set(SegmentHit other) {
+        this.set(other.getT(), other.getX(), other.getY(), other.getSide());
+    }
+
+    /**
+     * @return true if the holder holds a hit, and false otherwise.
+     */
+    public boolean isFound() {
+        return this.t != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return the segment's parameter at the hit point.
+     */
+    public double getT() {
+        return this.t;
+    }
+
+    /**
+     * @return the X coordinate of the hit point.
+     */
+    public double getX() {
+        return this.x;
+    }
+
+    /**
+     * @return the Y coordinate of the hit point.
+     */
+    public double getY() {
+        return this.y;
+    }
+
+    /**
+     * @return the side which was hit, or null if the hit isn't on a rectangle's side.
+     */
+    public Side getSide() {
+        return this.side;
+    }
+}
@@ -0,0 +1,23 @@
+package geometry;
+
+/**
+ * The sides of a rectangle.
+ */
+public enum Side {
+    /**
+     * The up side.
+     */
+    UP,
+    /**
+     * The down side.
+     */
+    DOWN,
+    /**
+     * The left side.
+     */
+    LEFT,
+    /**
+     * The right side.
+     */
+    RIGHT
+}
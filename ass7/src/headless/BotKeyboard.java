@@ -0,0 +1,92 @@
+package headless;
+
+import animations.GameLevel;
+import biuoop.KeyboardSensor;
+import geometry.Rectangle;
+import interfaces.Collidable;
+import sprites.Ball;
+import sprites.BallSystem;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The Bot keyboard class.
+ * A keyboard sensor played by a bot: it presses left or right to keep the paddle under the lowest falling ball.
+ * The bot aims at a random part of the paddle, which changes every few seconds, so runs with different seeds
+ * play differently. Each bot has its own random, so bots running in parallel share nothing.
+ */
+public class BotKeyboard implements KeyboardSensor {
+    private static final int AIM_FRAMES = 180;
+    private GameLevel level;
+    private Random random;
+    private double aim;
+    private int framesToAim;
+
+    /**
+     * The constructor of a new Bot keyboard.
+     *
+     * @param seed the seed of the bot's random.
+     */
+    public BotKeyboard(long seed) {
+        this.random = new Random(seed);
+        this.level = null;
+        this.framesToAim = 0;
+    }
+
+    /**
+     * Sets the level the bot plays.
+     *
+     * @param gameLevel the level.
+     */
+    public void setLevel(GameLevel gameLevel) {
+        this.level = gameLevel;
+    }
+
+    @Override
+    public boolean isPressed(String key) {
+        if (this.level == null) {
+            return false;
+        }
+        boolean left = KeyboardSensor.LEFT_KEY.equals(key);
+        if (!left && !KeyboardSensor.RIGHT_KEY.equals(key)) {
+            return false;
+        }
+        List<Collidable> dynamics = this.level.getEnvironment().getDynamicList();
+        Ball target = this.target();
+        if (dynamics.isEmpty() || target == null) {
+            return false;
+        }
+        // the paddle asks for the left key first, so the aim is changed once a frame.
+        if (left && --this.framesToAim <= 0) {
+            this.aim = this.random.nextDouble() * 0.8 + 0.1;
+            this.framesToAim = AIM_FRAMES;
+        }
+        Rectangle paddle = dynamics.get(0).getCollisionRectangle();
+        double aimX = paddle.getMinX() + paddle.getWidth() * this.aim;
+        double tolerance = paddle.getWidth() / 10;
+        if (left) {
+            return target.getCenterX() < aimX - tolerance;
+        }
+        return target.getCenterX() > aimX + tolerance;
+    }
+
+    /**
+     * @return the lowest ball which falls, or the lowest ball if none falls, or null if there are no balls.
+     */
+    private Ball target() {
+        Ball best = null;
+        boolean bestFalls = false;
+        BallSystem balls = this.level.getBallSystem();
+        for (int i = 0; i < balls.size(); i++) {
+            Ball b = balls.get(i);
+            boolean falls = b.getDy() > 0;
+            if (best == null || (falls && !bestFalls)
+                    || (falls == bestFalls && b.getCenterY() > best.getCenterY())) {
+                best = b;
+                bestFalls = falls;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,232 @@
+package headless;
+
+import animations.AnimationRunner;
+import animations.GameLevel;
+import biuoop.DrawSurface;
+import biuoop.KeyboardSensor;
+import general.Counter;
+import interfaces.LevelInformation;
+import readers.LevelSpecificationReader;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Headless engine class.
+ * It builds a game level from a level information, and plays it frame by frame without a gui,
+ * a real keyboard or sleeping between frames, so the game can be simulated as fast as the CPU allows.
+ * The turns are played without the countdown, and the lives and score are counted as in the game flow.
+ */
+public class HeadlessEngine {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+    private static final int RECT_SHORT = 25;
+    private static final int LIVES = 7;
+    private static final int MAX_PAUSE_FRAMES = 1000;
+    private GameLevel level;
+    private KeyboardSensor keyboard;
+    private DrawSurface surface;
+    private Counter lives;
+    private Counter score;
+    private Counter blocks;
+    private int frames;
+    private boolean inTurn;
+    private boolean render;
+
+    /**
+     * The constructor of a new Headless engine.
+     *
+     * @param info     the level to be played.
+     * @param keyboard the keyboard, scripted or played by a bot.
+     * @param surface  the surface the level is drawn on, null or recording.
+     */
+    public HeadlessEngine(LevelInformation info, KeyboardSensor keyboard, DrawSurface surface) {
+        this(info, keyboard, surface, new Counter(LIVES), new Counter(0), AnimationRunner.BASE_TICKS_PER_SECOND);
+    }
+
+    /**
+     * The constructor of a new Headless engine, which continues a game: the lives and the score are shared with
+     * the levels played before.
+     *
+     * @param info           the level to be played.
+     * @param keyboard       the keyboard, scripted, replayed or played by a bot.
+     * @param surface        the surface the level is drawn on, null or recording.
+     * @param lives          the lives counter.
+     * @param score          the score counter.
+     * @param ticksPerSecond the ticks per second the level is stepped by.
+     */
+    public HeadlessEngine(LevelInformation info, KeyboardSensor keyboard, DrawSurface surface,
+                          Counter lives, Counter score, int ticksPerSecond) {
+        this.keyboard = keyboard;
+        this.surface = surface;
+        this.lives = lives;
+        this.score = score;
+        this.blocks = new Counter(info.numberOfBlocksToRemove());
+        this.frames = 0;
+        this.inTurn = false;
+        this.render = true;
+        this.level = new GameLevel(info, new HeadlessRunner(surface, MAX_PAUSE_FRAMES, ticksPerSecond), keyboard,
+                this.lives, this.score, this.blocks);
+        this.level.setSizes(WIDTH, HEIGHT, RECT_SHORT);
+        this.level.setStopPath("background_images/stop.jpeg");
+        // nothing presses the rewind key in a simulation, unless a replay sets the snapshots back on.
+        this.level.setRewind(false);
+        this.level.initialize();
+    }
+
+    /**
+     * The constructor of a new Headless engine, with no key pressed and nothing drawn.
+     *
+     * @param info the level to be played.
+     */
+    public HeadlessEngine(LevelInformation info) {
+        this(info, new ScriptedKeyboard(), new NullDrawSurface(WIDTH, HEIGHT));
+        this.setRender(false);
+    }
+
+    /**
+     * Sets if each frame is drawn on the engine's surface, or the level is only ticked.
+     * A level which isn't drawn doesn't keep a frame of its own to draw either, so a simulation which
+     * doesn't look at the frames is faster without them. The frames are drawn by default.
+     *
+     * @param on true for the frames to be drawn.
+     */
+    public void setRender(boolean on) {
+        this.render = on;
+    }
+
+    /**
+     * Plays one frame of the level. A new turn starts if the last one ended.
+     *
+     * @return true if the level isn't over after the frame, and false otherwise.
+     */
+    public boolean step() {
+        if (this.isOver()) {
+            return false;
+        }
+        if (!this.inTurn) {
+            this.level.prepareTurn();
+            this.inTurn = true;
+        }
+        if (this.keyboard instanceof ScriptedKeyboard) {
+            ((ScriptedKeyboard) this.keyboard).setFrame(this.frames);
+        }
+        if (this.render) {
+            this.level.doOneFrame(this.surface);
+        } else {
+            this.level.tick();
+        }
+        this.frames++;
+        if (this.level.shouldStop()) {
+            this.inTurn = false;
+            // same as the game flow: a bonus for clearing the level, or a life lost.
+            if (this.blocks.getValue() == 0) {
+                this.score.increase(100);
+            } else {
+                this.lives.decrease(1);
+            }
+        }
+        return !this.isOver();
+    }
+
+    /**
+     * Plays the level until it's over, or until a given number of frames were played.
+     *
+     * @param maxFrames the given number of frames.
+     * @return the number of frames played so far.
+     */
+    public int run(int maxFrames) {
+        while (this.frames < maxFrames && !this.isOver()) {
+            this.step();
+        }
+        return this.frames;
+    }
+
+    /**
+     * @return true if the level is over - no lives or no blocks left, and false otherwise.
+     */
+    public boolean isOver() {
+        return this.lives.getValue() == 0 || this.blocks.getValue() == 0;
+    }
+
+    /**
+     * @return the game level played by the engine.
+     */
+    public GameLevel getLevel() {
+        return this.level;
+    }
+
+    /**
+     * @return the number of frames played so far.
+     */
+    public int getFrames() {
+        return this.frames;
+    }
+
+    /**
+     * @return the lives left.
+     */
+    public int getLives() {
+        return this.lives.getValue();
+    }
+
+    /**
+     * @return the score so far.
+     */
+    public int getScore() {
+        return this.score.getValue();
+    }
+
+    /**
+     * @return the blocks left to remove.
+     */
+    public int getBlocks() {
+        return this.blocks.getValue();
+    }
+
+    /**
+     * Reads the levels of a given levels definitions file, from the class path.
+     *
+     * @param path the path of the file.
+     * @return the levels in the file, or an empty list if it wasn't found.
+     */
+    public static List<LevelInformation> readLevels(String path) {
+        InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(path);
+        if (is == null) {
+            return new ArrayList<>();
+        }
+        return new LevelSpecificationReader().fromReader(new InputStreamReader(is));
+    }
+
+    /**
+     * Plays every level of a levels definitions file without a display, and prints how each level ended,
+     * and how many frames per second were simulated.
+     *
+     * @param args the path of the levels definitions file, the most frames to play each level for, and
+     *             then "autopilot" for the paddle to be played by an autopilot, and "collide" for balls which
+     *             bounce off each other, in any order.
+     */
+    public static void main(String[] args) {
+        String path = args.length > 0 ? args[0] : "definitions/easy_level_definitions.txt";
+        int maxFrames = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+        boolean autopilot = false;
+        boolean collide = false;
+        for (int i = 2; i < args.length; i++) {
+            autopilot |= "autopilot".equals(args[i]);
+            collide |= "collide".equals(args[i]);
+        }
+        for (LevelInformation info : readLevels(path)) {
+            HeadlessEngine engine = new HeadlessEngine(info);
+            engine.getLevel().setAutopilot(autopilot);
+            engine.getLevel().setBallCollisions(collide);
+            long start = System.nanoTime();
+            int played = engine.run(maxFrames);
+            double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+            System.out.println(info.levelName() + ": " + played + " frames, score " + engine.getScore()
+                    + ", lives " + engine.getLives() + ", blocks left " + engine.getBlocks()
+                    + ", " + (long) (played / seconds) + " frames per second");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package headless;
+
+import animations.AnimationRunner;
+import biuoop.DrawSurface;
+import interfaces.Animation;
+
+/**
+ * The Headless runner class.
+ * An animation runner without a gui: it draws on a given surface, and never sleeps between frames.
+ * An animation which waits for a key (like the pause screen) is stopped after a limit of frames,
+ * so a script can't block the run.
+ */
+public class HeadlessRunner extends AnimationRunner {
+    private DrawSurface surface;
+    private int maxFrames;
+
+    /**
+     * The constructor of a new Headless runner.
+     *
+     * @param surface   the surface the animations draw on.
+     * @param maxFrames the most frames one animation is run for.
+     */
+    public HeadlessRunner(DrawSurface surface, int maxFrames) {
+        this(surface, maxFrames, BASE_TICKS_PER_SECOND);
+    }
+
+    /**
+     * The constructor of a new Headless runner, whose levels are stepped by a given number of ticks per second.
+     *
+     * @param surface        the surface the animations draw on.
+     * @param maxFrames      the most frames one animation is run for.
+     * @param ticksPerSecond the ticks per second of the levels.
+     */
+    public HeadlessRunner(DrawSurface surface, int maxFrames, int ticksPerSecond) {
+        super(ticksPerSecond, ticksPerSecond, null);
+        this.surface = surface;
+        this.maxFrames = maxFrames;
+    }
+
+    @Override
+    public void run(Animation animation) {
+        for (int i = 0; i < this.maxFrames; i++) {
+            animation.doOneFrame(this.surface);
+            if (animation.shouldStop()) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package headless;
+
+import java.util.Arrays;
+
+/**
+ * The Level stats class.
+ * It collects the results of the simulations of one level. Stats of separate simulations are merged,
+ * so each thread collects its own stats and nothing is shared while they run.
+ * The scores are kept in an array which is doubled when it's full, so adding a run copies only once in a while.
+ */
+public class LevelStats {
+    private int runs;
+    private int clears;
+    private long clearFrames;
+    private long livesLost;
+    private int[] scores;
+
+    /**
+     * The constructor of new, empty, Level stats.
+     */
+    public LevelStats() {
+        this(16);
+    }
+
+    /**
+     * The constructor of new, empty, Level stats, with room for a given number of simulations.
+     *
+     * @param capacity the number of simulations the stats have room for before they grow.
+     */
+    public LevelStats(int capacity) {
+        this.runs = 0;
+        this.clears = 0;
+        this.clearFrames = 0;
+        this.livesLost = 0;
+        this.scores = new int[capacity];
+    }
+
+    /**
+     * Adds the result of one simulation.
+     *
+     * @param cleared true if the level was cleared.
+     * @param frames  the frames the simulation played.
+     * @param lost    the lives lost.
+     * @param score   the score.
+     */
+    public void add(boolean cleared, int frames, int lost, int score) {
+        this.runs++;
+        if (cleared) {
+            this.clears++;
+            this.clearFrames += frames;
+        }
+        this.livesLost += lost;
+        if (this.runs > this.scores.length) {
+            this.scores = Arrays.copyOf(this.scores, Math.max(1, this.scores.length * 2));
+        }
+        this.scores[this.runs - 1] = score;
+    }
+
+    /**
+     * Adds the results of other stats of the same level.
+     *
+     * @param other the other stats.
+     * @return these stats.
+     */
+    public LevelStats merge(LevelStats other) {
+        int length = this.runs;
+        this.runs += other.runs;
+        this.clears += other.clears;
+        this.clearFrames += other.clearFrames;
+        this.livesLost += other.livesLost;
+        if (this.runs > this.scores.length) {
+            this.scores = Arrays.copyOf(this.scores, Math.max(this.runs, this.scores.length * 2));
+        }
+        System.arraycopy(other.scores, 0, this.scores, length, other.runs);
+        return this;
+    }
+
+    /**
+     * @return the number of simulations.
+     */
+    public int getRuns() {
+        return this.runs;
+    }
+
+    /**
+     * @return the part of the simulations which cleared the level.
+     */
+    public double clearRate() {
+        return this.runs == 0 ? 0 : (double) this.clears / this.runs;
+    }
+
+    /**
+     * @return the average frames until the level was cleared, of the simulations which cleared it.
+     */
+    public double averageFramesToClear() {
+        return this.clears == 0 ? 0 : (double) this.clearFrames / this.clears;
+    }
+
+    /**
+     * @return the average lives lost in a simulation.
+     */
+    public double averageLivesLost() {
+        return this.runs == 0 ? 0 : (double) this.livesLost / this.runs;
+    }
+
+    /**
+     * @param percent the given percent, between 0 and 100.
+     * @return the score which the given percent of the simulations scored at most.
+     */
+    public int scorePercentile(double percent) {
+        if (this.runs == 0) {
+            return 0;
+        }
+        int[] sorted = Arrays.copyOf(this.scores, this.runs);
+        Arrays.sort(sorted);
+        int i = (int) Math.ceil(percent / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, i))];
+    }
+}
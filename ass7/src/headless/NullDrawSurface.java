@@ -0,0 +1,85 @@
+package headless;
+
+import biuoop.DrawSurface;
+
+import java.awt.Color;
+import java.awt.Image;
+import java.awt.Polygon;
+
+/**
+ * The Null draw surface class.
+ * A draw surface which draws nothing, for running the game without a display.
+ */
+public class NullDrawSurface implements DrawSurface {
+    private int width;
+    private int height;
+
+    /**
+     * The constructor of a new Null draw surface.
+     *
+     * @param width  the surface's width.
+     * @param height the surface's height.
+     */
+    public NullDrawSurface(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public void drawCircle(int x, int y, int r) {
+    }
+
+    @Override
+    public void drawImage(int x, int y, Image img) {
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+    }
+
+    @Override
+    public void drawOval(int x, int y, int w, int h) {
+    }
+
+    @Override
+    public void drawPolygon(Polygon p) {
+    }
+
+    @Override
+    public void drawRectangle(int x, int y, int w, int h) {
+    }
+
+    @Override
+    public void drawText(int x, int y, String s, int fontSize) {
+    }
+
+    @Override
+    public void fillCircle(int x, int y, int r) {
+    }
+
+    @Override
+    public void fillOval(int x, int y, int w, int h) {
+    }
+
+    @Override
+    public void fillPolygon(Polygon p) {
+    }
+
+    @Override
+    public void fillRectangle(int x, int y, int w, int h) {
+    }
+
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    @Override
+    public int getWidth() {
+        return this.width;
+    }
+
+    @Override
+    public void setColor(Color c) {
+    }
+}
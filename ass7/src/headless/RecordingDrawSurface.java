@@ -0,0 +1,101 @@
+package headless;
+
+import java.awt.Color;
+import java.awt.Image;
+import java.awt.Polygon;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Recording draw surface class.
+ * A draw surface which draws nothing, but records every drawing call as a line of text,
+ * so a run without a display can be checked.
+ */
+public class RecordingDrawSurface extends NullDrawSurface {
+    private List<String> records;
+
+    /**
+     * The constructor of a new Recording draw surface.
+     *
+     * @param width  the surface's width.
+     * @param height the surface's height.
+     */
+    public RecordingDrawSurface(int width, int height) {
+        super(width, height);
+        this.records = new ArrayList<>();
+    }
+
+    /**
+     * @return the recorded calls, in the order they were made.
+     */
+    public List<String> getRecords() {
+        return this.records;
+    }
+
+    /**
+     * Forget all the recorded calls.
+     */
+    public void clear() {
+        this.records.clear();
+    }
+
+    @Override
+    public void drawCircle(int x, int y, int r) {
+        this.records.add("drawCircle " + x + " " + y + " " + r);
+    }
+
+    @Override
+    public void drawImage(int x, int y, Image img) {
+        this.records.add("drawImage " + x + " " + y);
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        this.records.add("drawLine " + x1 + " " + y1 + " " + x2 + " " + y2);
+    }
+
+    @Override
+    public void drawOval(int x, int y, int w, int h) {
+        this.records.add("drawOval " + x + " " + y + " " + w + " " + h);
+    }
+
+    @Override
+    public void drawPolygon(Polygon p) {
+        this.records.add("drawPolygon " + p.npoints);
+    }
+
+    @Override
+    public void drawRectangle(int x, int y, int w, int h) {
+        this.records.add("drawRectangle " + x + " " + y + " " + w + " " + h);
+    }
+
+    @Override
+    public void drawText(int x, int y, String s, int fontSize) {
+        this.records.add("drawText " + x + " " + y + " " + s + " " + fontSize);
+    }
+
+    @Override
+    public void fillCircle(int x, int y, int r) {
+        this.records.add("fillCircle " + x + " " + y + " " + r);
+    }
+
+    @Override
+    public void fillOval(int x, int y, int w, int h) {
+        this.records.add("fillOval " + x + " " + y + " " + w + " " + h);
+    }
+
+    @Override
+    public void fillPolygon(Polygon p) {
+        this.records.add("fillPolygon " + p.npoints);
+    }
+
+    @Override
+    public void fillRectangle(int x, int y, int w, int h) {
+        this.records.add("fillRectangle " + x + " " + y + " " + w + " " + h);
+    }
+
+    @Override
+    public void setColor(Color c) {
+        this.records.add("setColor " + c.getRGB());
+    }
+}
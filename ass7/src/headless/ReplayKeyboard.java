@@ -0,0 +1,65 @@
+package headless;
+
+import general.Recording;
+import interfaces.TickedKeyboard;
+
+/**
+ * The Replay keyboard class.
+ * A keyboard sensor which feeds back the keys of a recording, tick by tick.
+ * Between the ticks, and after the recording ended, no key is pressed.
+ */
+public class ReplayKeyboard implements TickedKeyboard {
+    private Recording recording;
+    private int run;
+    private int ticksLeftInRun;
+    private long ticks;
+    private int mask;
+    private boolean inTick;
+
+    /**
+     * The constructor of a new Replay keyboard.
+     *
+     * @param recording the recording whose keys are fed back.
+     */
+    public ReplayKeyboard(Recording recording) {
+        this.recording = recording;
+        this.run = -1;
+        this.ticksLeftInRun = 0;
+        this.ticks = 0;
+        this.mask = 0;
+        this.inTick = false;
+    }
+
+    @Override
+    public void nextTick() {
+        this.inTick = true;
+        this.ticks++;
+        while (this.ticksLeftInRun == 0 && this.run + 1 < this.recording.getRuns()) {
+            this.run++;
+            this.ticksLeftInRun = this.recording.getLength(this.run);
+            this.mask = this.recording.getMask(this.run);
+        }
+        if (this.ticksLeftInRun == 0) {
+            this.mask = 0;
+            return;
+        }
+        this.ticksLeftInRun--;
+    }
+
+    @Override
+    public void endTick() {
+        this.inTick = false;
+    }
+
+    /**
+     * @return true if all the ticks of the recording were fed back, and false otherwise.
+     */
+    public boolean isFinished() {
+        return this.ticks >= this.recording.getTicks();
+    }
+
+    @Override
+    public boolean isPressed(String key) {
+        return this.inTick && (this.mask & Recording.bitOf(key)) != 0;
+    }
+}
@@ -0,0 +1,115 @@
+package headless;
+
+import general.Counter;
+import general.Recording;
+import interfaces.LevelInformation;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The Replayer class.
+ * It plays a recorded session again, without a display and as fast as the CPU allows: the levels are played
+ * from the recorded level, with the recorded score, lives and ball collisions, and the recorded keys are fed back
+ * tick by tick.
+ * Since the level reads the same keys in the same ticks, the replay reaches the same state as the session.
+ */
+public class Replayer {
+    private Recording recording;
+    private ReplayKeyboard keyboard;
+    private Counter lives;
+    private Counter score;
+    private boolean rewind;
+
+    /**
+     * The constructor of a new Replayer.
+     *
+     * @param recording the recorded session.
+     */
+    public Replayer(Recording recording) {
+        this.recording = recording;
+        this.keyboard = new ReplayKeyboard(recording);
+        this.lives = new Counter(recording.getLives());
+        this.score = new Counter(recording.getScore());
+        // the levels keep snapshots to rewind to only if the rewind key was pressed in the session.
+        this.rewind = false;
+        for (int i = 0; i < recording.getRuns(); i++) {
+            this.rewind |= (recording.getMask(i) & Recording.REWIND) != 0;
+        }
+    }
+
+    /**
+     * Replays a given level, until the level is over or the recording ended.
+     *
+     * @param info the given level.
+     * @return the engine the level was played by.
+     */
+    public HeadlessEngine replay(LevelInformation info) {
+        HeadlessEngine engine = new HeadlessEngine(info, this.keyboard, new NullDrawSurface(800, 600),
+                this.lives, this.score, this.recording.getTicksPerSecond());
+        engine.setRender(false);
+        engine.getLevel().setBallCollisions(this.recording.isBallCollisions());
+        engine.getLevel().setRewind(this.rewind);
+        while (!this.keyboard.isFinished() && !engine.isOver()) {
+            engine.step();
+        }
+        return engine;
+    }
+
+    /**
+     * @return true if all the recorded ticks were replayed, and false otherwise.
+     */
+    public boolean isFinished() {
+        return this.keyboard.isFinished();
+    }
+
+    /**
+     * @return the lives left.
+     */
+    public int getLives() {
+        return this.lives.getValue();
+    }
+
+    /**
+     * @return the score so far.
+     */
+    public int getScore() {
+        return this.score.getValue();
+    }
+
+    /**
+     * Replays a recording file, and prints how each level ended.
+     *
+     * @param args the path of the recording file.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: Replayer <recording file>");
+            return;
+        }
+        Recording recording;
+        try {
+            recording = Recording.load(new File(args[0]));
+        } catch (IOException e) {
+            System.err.println("Failed reading file: " + args[0] + ", message:" + e.getMessage());
+            return;
+        }
+        List<LevelInformation> levels = HeadlessEngine.readLevels(recording.getLevelsPath());
+        Replayer replayer = new Replayer(recording);
+        long start = System.nanoTime();
+        long ticks = 0;
+        for (int i = recording.getFirstLevel(); i < levels.size(); i++) {
+            HeadlessEngine engine = replayer.replay(levels.get(i));
+            ticks += engine.getFrames();
+            System.out.println(levels.get(i).levelName() + ": " + engine.getFrames() + " ticks, score "
+                    + engine.getScore() + ", lives " + engine.getLives() + ", blocks left " + engine.getBlocks());
+            if (replayer.isFinished() || engine.getLives() == 0) {
+                break;
+            }
+        }
+        double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+        System.out.println(ticks + " of " + recording.getTicks() + " recorded ticks in " + recording.getRuns()
+                + " runs, replayed at " + (long) (ticks / seconds) + " ticks per second");
+    }
+}
@@ -0,0 +1,58 @@
+package headless;
+
+import biuoop.KeyboardSensor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Scripted keyboard class.
+ * A keyboard sensor for running the game without a display. A key is pressed in the frames the script says,
+ * and no key is pressed if there is no script.
+ */
+public class ScriptedKeyboard implements KeyboardSensor {
+    private List<String> keys;
+    private List<int[]> ranges;
+    private int frame;
+
+    /**
+     * The constructor of a new Scripted keyboard, with an empty script.
+     */
+    public ScriptedKeyboard() {
+        this.keys = new ArrayList<>();
+        this.ranges = new ArrayList<>();
+        this.frame = 0;
+    }
+
+    /**
+     * Adds to the script a key, which is pressed from a given frame until before another one.
+     *
+     * @param key  the key.
+     * @param from the first frame the key is pressed in.
+     * @param to   the first frame the key isn't pressed in anymore.
+     */
+    public void press(String key, int from, int to) {
+        this.keys.add(key);
+        this.ranges.add(new int[]{from, to});
+    }
+
+    /**
+     * Sets the current frame, which the script is read at.
+     *
+     * @param currentFrame the current frame.
+     */
+    public void setFrame(int currentFrame) {
+        this.frame = currentFrame;
+    }
+
+    @Override
+    public boolean isPressed(String key) {
+        for (int i = 0; i < this.keys.size(); i++) {
+            int[] range = this.ranges.get(i);
+            if (this.keys.get(i).equals(key) && this.frame >= range[0] && this.frame < range[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
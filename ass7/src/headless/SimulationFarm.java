@@ -0,0 +1,149 @@
+package headless;
+
+import interfaces.LevelInformation;
+import readers.LevelSetReader;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The Simulation farm class.
+ * It simulates many independent games of each level of a level set, played by bots, on all the cores,
+ * and reports how hard each level is: clear rate, time to clear, lives lost and score distribution.
+ * Each simulation builds its own game level, counters and bot, so the simulations share only the level
+ * information, which is only read.
+ */
+public class SimulationFarm {
+    private ForkJoinPool pool;
+    private int maxFrames;
+
+    /**
+     * The constructor of a new Simulation farm.
+     *
+     * @param pool      the pool the simulations run on.
+     * @param maxFrames the most frames one simulation plays.
+     */
+    public SimulationFarm(ForkJoinPool pool, int maxFrames) {
+        this.pool = pool;
+        this.maxFrames = maxFrames;
+    }
+
+    /**
+     * Simulates a given level a given number of times.
+     *
+     * @param info the level.
+     * @param runs the number of simulations.
+     * @param seed the seed of the first simulation's bot, the others use the next seeds.
+     * @return the stats of the simulations.
+     */
+    public LevelStats simulate(LevelInformation info, int runs, long seed) {
+        return this.pool.invoke(new Simulations(info, seed, this.maxFrames, 0, runs));
+    }
+
+    /**
+     * Plays one simulation of a level.
+     *
+     * @param info      the level.
+     * @param seed      the seed of the bot.
+     * @param maxFrames the most frames the simulation plays.
+     * @return the stats of the one simulation.
+     */
+    private static LevelStats simulateOne(LevelInformation info, long seed, int maxFrames) {
+        BotKeyboard bot = new BotKeyboard(seed);
+        HeadlessEngine engine = new HeadlessEngine(info, bot, new NullDrawSurface(800, 600));
+        engine.setRender(false);
+        int lives = engine.getLives();
+        bot.setLevel(engine.getLevel());
+        int frames = engine.run(maxFrames);
+        LevelStats stats = new LevelStats(1);
+        stats.add(engine.getBlocks() == 0, frames, lives - engine.getLives(), engine.getScore());
+        return stats;
+    }
+
+    /**
+     * The task of a range of simulations of one level, which is split in halves until it's a single simulation.
+     */
+    private static class Simulations extends RecursiveTask<LevelStats> {
+        private static final long serialVersionUID = 1L;
+        private LevelInformation info;
+        private long seed;
+        private int maxFrames;
+        private int from;
+        private int to;
+
+        /**
+         * The constructor of a new task.
+         *
+         * @param info      the level.
+         * @param seed      the seed of the range's first simulation.
+         * @param maxFrames the most frames one simulation plays.
+         * @param from      the first simulation in the range.
+         * @param to        the first simulation after the range.
+         */
+        Simulations(LevelInformation info, long seed, int maxFrames, int from, int to) {
+            this.info = info;
+            this.seed = seed;
+            this.maxFrames = maxFrames;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected LevelStats compute() {
+            if (this.to - this.from <= 1) {
+                if (this.to > this.from) {
+                    return simulateOne(this.info, this.seed + this.from, this.maxFrames);
+                }
+                return new LevelStats(0);
+            }
+            int middle = (this.from + this.to) >>> 1;
+            Simulations left = new Simulations(this.info, this.seed, this.maxFrames, this.from, middle);
+            left.fork();
+            LevelStats right = new Simulations(this.info, this.seed, this.maxFrames, middle, this.to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Simulates every level of a level set file, and prints the stats of each level.
+     *
+     * @param args the level set file, the simulations of each level, the most frames of each simulation,
+     *             and the first seed.
+     */
+    public static void main(String[] args) {
+        String path = args.length > 0 ? args[0] : "level_sets.txt";
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int maxFrames = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+        InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(path);
+        if (is == null) {
+            System.err.println("Level set not found: " + path);
+            return;
+        }
+        List<LevelSetReader.LevelSet> sets = new LevelSetReader().fromReader(
+                new BufferedReader(new InputStreamReader(is)));
+        int cores = Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(cores);
+        SimulationFarm farm = new SimulationFarm(pool, maxFrames);
+        System.out.println(cores + " cores, " + runs + " simulations of each level, up to " + maxFrames + " frames");
+        for (LevelSetReader.LevelSet set : sets) {
+            List<LevelInformation> levels = new ArrayList<>(HeadlessEngine.readLevels(set.getPath()));
+            for (LevelInformation info : levels) {
+                long start = System.nanoTime();
+                LevelStats stats = farm.simulate(info, runs, seed);
+                double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+                System.out.printf("%s / %s: clear rate %.2f, frames to clear %.0f, lives lost %.2f, "
+                                + "score p10/p50/p90 %d/%d/%d, %.1f simulations per second%n",
+                        set.getName(), info.levelName(), stats.clearRate(), stats.averageFramesToClear(),
+                        stats.averageLivesLost(), stats.scorePercentile(10), stats.scorePercentile(50),
+                        stats.scorePercentile(90), stats.getRuns() / seconds);
+            }
+        }
+        pool.shutdown();
+    }
+}
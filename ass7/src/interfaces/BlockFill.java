@@ -0,0 +1,20 @@
+package interfaces;
+
+import biuoop.DrawSurface;
+
+/**
+ * The Block fill interface.
+ * The way a block is filled in one of its hit points states.
+ */
+public interface BlockFill {
+    /**
+     * Fills a given rectangle on a given surface.
+     *
+     * @param d      the given surface.
+     * @param x      the X coordinate of the rectangle's upper left point.
+     * @param y      the Y coordinate of the rectangle's upper left point.
+     * @param width  the rectangle's width.
+     * @param height the rectangle's height.
+     */
+    void fill(DrawSurface d, int x, int y, int width, int height);
+}
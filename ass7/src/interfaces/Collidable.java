@@ -2,7 +2,6 @@ package interfaces;
 
 import sprites.Ball;
 import geometry.Rectangle;
-import geometry.Point;
 import general.Velocity;
 
 /**
@@ -17,13 +16,14 @@ public interface Collidable {
     Rectangle getCollisionRectangle();
 
     /**
-     * The method calculates the new velocity of the object, which we collided with it at collisionPoint with.
+     * The method calculates the new velocity of the object, which we collided with it at the collision point.
      * The calculation is based on the force the object inflicted on us.
+     * The new velocity is written into the given velocity, so a hit doesn't create new objects.
      *
-     * @param hitter          the ball which hits the object.
-     * @param collisionPoint  the collision point.
-     * @param currentVelocity the previous velocity of the object.
-     * @return the object's new velocity.
+     * @param hitter   the ball which hits the object.
+     * @param x        the X coordinate of the collision point.
+     * @param y        the Y coordinate of the collision point.
+     * @param velocity the previous velocity of the object, which is changed to its new velocity.
      */
-    Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity);
+    void hit(Ball hitter, double x, double y, Velocity velocity);
 }
@@ -0,0 +1,48 @@
+package interfaces;
+
+import geometry.SegmentHit;
+
+/**
+ * The Collision index interface.
+ * A collision index holds collidables in a structure which makes the search of the closest collision faster
+ * than checking every collidable.
+ */
+public interface CollisionIndex {
+    /**
+     * Add a given collidable to the index.
+     *
+     * @param c the given collidable.
+     * @return true if the index holds the collidable, and false if the index can't hold it.
+     */
+    boolean add(Collidable c);
+
+    /**
+     * Remove a given collidable from the index.
+     *
+     * @param c the given collidable.
+     * @return true if the collidable was in the index, and false otherwise.
+     */
+    boolean remove(Collidable c);
+
+    /**
+     * Update the index after a given collidable's rectangle was moved.
+     *
+     * @param c the given collidable.
+     * @return true if the index still holds the collidable, and false otherwise.
+     */
+    boolean update(Collidable c);
+
+    /**
+     * Find a collision of the given trajectory with the collidables in the index,
+     * which is closer than the given closest hit found so far.
+     * The trajectory is given by its start point and the change of the coordinates along it.
+     *
+     * @param x0      the X coordinate of the trajectory's start.
+     * @param y0      the Y coordinate of the trajectory's start.
+     * @param dx      the change of the X coordinate along the trajectory.
+     * @param dy      the change of the Y coordinate along the trajectory.
+     * @param closest the closest hit found so far, which is replaced if a closer one is found.
+     * @return the collidable of the closer hit, or null if there isn't a closer hit.
+     */
+    Collidable closestCollision(double x0, double y0, double dx, double dy, SegmentHit closest);
+}
@@ -0,0 +1,17 @@
+package interfaces;
+
+import biuoop.DrawSurface;
+
+/**
+ * The Interpolated sprite interface.
+ * A moving sprite, which can be drawn between its location before the last move and its current one.
+ */
+public interface InterpolatedSprite extends Sprite {
+    /**
+     * The sprite is drawn on a given surface, between its previous and current locations.
+     *
+     * @param d     the given surface.
+     * @param alpha 0 for the location before the last move, 1 for the current location.
+     */
+    void drawOn(DrawSurface d, double alpha);
+}
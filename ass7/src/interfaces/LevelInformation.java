@@ -57,4 +57,19 @@ public interface LevelInformation {
      * @return the amount of blocks that the user has to 'kill' in order to win the level.
      */
     int numberOfBlocksToRemove();
+
+    /**
+     * @return the X coordinate the level's rows of blocks start at.
+     */
+    int blocksStartX();
+
+    /**
+     * @return the Y coordinate the level's first row of blocks starts at.
+     */
+    int blocksStartY();
+
+    /**
+     * @return the height of each row of blocks.
+     */
+    int rowHeight();
 }
@@ -0,0 +1,17 @@
+package interfaces;
+
+import geometry.Rectangle;
+
+/**
+ * The Paddle controller interface.
+ * A controller moves the paddle instead of the keyboard: each tick, the paddle moves towards the place it asks.
+ */
+public interface PaddleController {
+    /**
+     * Returns the X coordinate the paddle's center should move to, in the current tick.
+     *
+     * @param paddle the paddle's rectangle.
+     * @return the X coordinate the paddle's center should move to.
+     */
+    double targetX(Rectangle paddle);
+}
@@ -0,0 +1,22 @@
+package interfaces;
+
+import biuoop.DrawSurface;
+
+/**
+ * The Partial sprite interface.
+ * A region sprite which is made of many parts, as a system of balls, and can draw only its parts which
+ * overlap a given rectangle, so a changed region isn't drawn again by the parts which are far from it.
+ */
+public interface PartialSprite extends RegionSprite {
+    /**
+     * Draws on a given surface the parts of the sprite which overlap a given rectangle.
+     *
+     * @param d     the given surface.
+     * @param minX  the left bound of the rectangle.
+     * @param minY  the up bound of the rectangle.
+     * @param maxX  the right bound of the rectangle.
+     * @param maxY  the down bound of the rectangle.
+     * @param alpha 0 for the locations before the last move, 1 for the current locations.
+     */
+    void drawOverlapping(DrawSurface d, int minX, int minY, int maxX, int maxY, double alpha);
+}
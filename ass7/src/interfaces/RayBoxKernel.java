@@ -0,0 +1,30 @@
+package interfaces;
+
+/**
+ * The Ray box kernel interface.
+ * A kernel tests one trajectory against a batch of boxes, which are given as arrays of their bounds,
+ * and finds the nearest box the trajectory hits.
+ */
+public interface RayBoxKernel {
+    /**
+     * Finds the box with the nearest hit of the trajectory, which is closer than the given limit.
+     * A trajectory which starts outside a box hits it where it enters the box, and one which starts inside
+     * hits it where it leaves the box - same as the rectangle's slab test.
+     * The parameter of the nearest hit can be read by lastT().
+     *
+     * @param ray   the trajectory as {x0, y0, dx, dy}: its start point and the change of the coordinates along it.
+     * @param minX  the left bounds of the boxes.
+     * @param minY  the up bounds of the boxes.
+     * @param maxX  the right bounds of the boxes.
+     * @param maxY  the down bounds of the boxes.
+     * @param count the number of boxes in the arrays.
+     * @param limit the parameter of the closest hit found so far.
+     * @return the index of the nearest box, or -1 if no box is hit before the limit.
+     */
+    int nearest(double[] ray, double[] minX, double[] minY, double[] maxX, double[] maxY, int count, double limit);
+
+    /**
+     * @return the parameter (between 0 and 1) of the hit found by the last search.
+     */
+    double lastT();
+}
@@ -0,0 +1,30 @@
+package interfaces;
+
+import collections.DirtyRegions;
+
+/**
+ * The Region sprite interface.
+ * A sprite which knows where on the screen it's drawn, so a frame can be drawn again only where it changed.
+ */
+public interface RegionSprite extends Sprite {
+    /**
+     * Adds to given regions the parts of the screen which the sprite changes in the next frame: where it was drawn
+     * in the last frame and where it's drawn in the next one, if it moved or its look changed.
+     * The sprite keeps where it's drawn in the next frame, to be compared with the frame after it.
+     *
+     * @param regions the given regions.
+     * @param alpha   0 for the locations before the last move, 1 for the current locations.
+     */
+    void addChangedRegions(DirtyRegions regions, double alpha);
+
+    /**
+     * Checks if the sprite, as drawn in the next frame, overlaps a given rectangle.
+     *
+     * @param minX the left bound of the rectangle.
+     * @param minY the up bound of the rectangle.
+     * @param maxX the right bound of the rectangle.
+     * @param maxY the down bound of the rectangle.
+     * @return true if the sprite overlaps the rectangle, and false otherwise.
+     */
+    boolean overlaps(int minX, int minY, int maxX, int maxY);
+}
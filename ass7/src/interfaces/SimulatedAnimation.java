@@ -0,0 +1,24 @@
+package interfaces;
+
+import biuoop.DrawSurface;
+
+/**
+ * The Simulated animation interface.
+ * An animation whose simulation is stepped apart from its drawing, so the runner can run a fixed number of
+ * simulation ticks per second, whatever the rate of the drawn frames is.
+ */
+public interface SimulatedAnimation extends Animation {
+    /**
+     * Runs one simulation tick.
+     */
+    void tick();
+
+    /**
+     * Draws the animation between the state before the last tick and the current one.
+     *
+     * @param d     the surface.
+     * @param alpha the part of the next tick which has passed, between 0 (the state before the last tick)
+     *              and 1 (the current state).
+     */
+    void render(DrawSurface d, double alpha);
+}
@@ -0,0 +1,35 @@
+package interfaces;
+
+import biuoop.DrawSurface;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The Snapshot animation interface.
+ * A simulated animation whose state can be written to a snapshot and drawn from one, so its simulation can be
+ * run by a thread of its own, which hands the snapshots to the thread which draws.
+ */
+public interface SnapshotAnimation extends SimulatedAnimation {
+    /**
+     * @return the number of bytes a snapshot of the animation takes.
+     */
+    int snapshotSize();
+
+    /**
+     * Writes a snapshot of the animation's state to a given buffer.
+     *
+     * @param out the given buffer.
+     */
+    void snapshot(ByteBuffer out);
+
+    /**
+     * Draws the animation as it was in a given snapshot, between the state before the snapshot's tick and its
+     * state. It's called by the drawing thread, while another thread runs the ticks, so it doesn't touch the
+     * animation's live state.
+     *
+     * @param d        the surface.
+     * @param snapshot the given snapshot, which was written by snapshot.
+     * @param alpha    the part of the next tick which has passed, between 0 and 1.
+     */
+    void render(DrawSurface d, ByteBuffer snapshot, double alpha);
+}
@@ -0,0 +1,22 @@
+package interfaces;
+
+import biuoop.KeyboardSensor;
+
+/**
+ * The Ticked keyboard interface.
+ * A keyboard sensor whose keys change only between the ticks of a level, so the keys every tick of a level
+ * reads can be recorded, and fed back the same way.
+ */
+public interface TickedKeyboard extends KeyboardSensor {
+    /**
+     * Moves to the keys of the next tick, which are read until the tick ends.
+     * It's called by the level at the start of each tick.
+     */
+    void nextTick();
+
+    /**
+     * Ends the current tick. The keys which are read until the next tick, as by the pause screen,
+     * aren't a part of any tick.
+     */
+    void endTick();
+}
@@ -5,12 +5,10 @@ import builders.BlockFromImage;
 import builders.BlocksFromSymbolsFactory;
 import builders.ColorsParser;
 
-import javax.imageio.ImageIO;
 import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
@@ -30,6 +28,7 @@ public class BlocksDefinitionReader {
     private Map<Integer, BufferedImage> imageFillK;
     private Color fill;
     private BufferedImage image;
+    private ImageCache images;
 
     /**
      * The constructor for a new Blocks definition reader.
@@ -44,6 +43,7 @@ public class BlocksDefinitionReader {
         this.imageFillK = new TreeMap<>();
         this.fill = null;
         this.image = null;
+        this.images = new ImageCache();
     }
 
     /**
@@ -190,16 +190,7 @@ public class BlocksDefinitionReader {
                     }
                     if (pairs[1].startsWith("image(") && pairs[1].endsWith(")")) {
                         String imagePath = pairs[1].substring("image(".length(), pairs[1].length() - 1);
-                        BufferedImage imageBuffer = null;
-                        try {
-                            InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(imagePath);
-                            if (is != null) {
-                                imageBuffer = ImageIO.read(is);
-                            }
-                        } catch (IOException e) {
-                            throw new RuntimeException("Failed loading image");
-                        }
-                        imageFillKCur.put(k, imageBuffer);
+                        imageFillKCur.put(k, this.images.read(imagePath));
                         continue;
                     }
                 }
@@ -217,14 +208,7 @@ public class BlocksDefinitionReader {
                     } else {
                         if (pairs[1].startsWith("image(") && pairs[1].endsWith(")")) {
                             String imagePath = pairs[1].substring("image(".length(), pairs[1].length() - 1);
-                            try {
-                                InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(imagePath);
-                                if (is != null) {
-                                    imageCur = ImageIO.read(is);
-                                }
-                            } catch (IOException e) {
-                                throw new RuntimeException("Failed loading image");
-                            }
+                            imageCur = this.images.read(imagePath);
                         }
                     }
                 }
@@ -282,6 +266,13 @@ public class BlocksDefinitionReader {
                     fillCur = this.fill;
                 }
             }
+            // the blocks draw the render-ready copies of the images, in the blocks' size.
+            Map<Integer, BufferedImage> readyFillK = new TreeMap<>();
+            for (int j : imageFillKCur.keySet()) {
+                readyFillK.put(j, this.images.renderReady(imageFillKCur.get(j), widthCur, heightCur));
+            }
+            imageFillKCur = readyFillK;
+            imageCur = this.images.renderReady(imageCur, widthCur, heightCur);
             //create block with fill of color.
             if (imageCur == null) {
                 factory.putBlock(symbolCur, new BlockFromColor(widthCur, heightCur, fillCur,
@@ -324,16 +315,7 @@ public class BlocksDefinitionReader {
                 }
                 if (pairs[1].startsWith("image(") && pairs[1].endsWith(")")) {
                     String imagePath = pairs[1].substring("image(".length(), pairs[1].length() - 1);
-                    BufferedImage buffer = null;
-                    try {
-                        InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(imagePath);
-                        if (is != null) {
-                            buffer = ImageIO.read(is);
-                        }
-                    } catch (IOException e) {
-                        throw new RuntimeException("Failed loading image");
-                    }
-                    this.imageFillK.put(k, buffer);
+                    this.imageFillK.put(k, this.images.read(imagePath));
                 }
             }
             if (pairs[0].equals("stroke")) {
@@ -349,14 +331,7 @@ public class BlocksDefinitionReader {
                 } else {
                     if (pairs[1].startsWith("image(") && pairs[1].endsWith(")")) {
                         String path = pairs[1].substring("image(".length(), pairs[1].length() - 1);
-                        try {
-                            InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(path);
-                            if (is != null) {
-                                this.image = ImageIO.read(is);
-                            }
-                        } catch (IOException e) {
-                            throw new RuntimeException("Failed loading image");
-                        }
+                        this.image = this.images.read(path);
                     }
                 }
             }
@@ -0,0 +1,105 @@
+package readers;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The Image cache class.
+ * It loads the images of a definitions file, and converts each of them once to a render-ready copy: int packed
+ * pixels (with premultiplied alpha, if the image isn't opaque), scaled to the exact size it's drawn in, so drawing
+ * it is a plain copy of pixels.
+ * Each image is read once per path and converted once per size, so the blocks which share an image share its copy.
+ * The loaded images are kept only by the cache, so they're dropped with it once the file is read.
+ */
+public class ImageCache {
+    private Map<String, BufferedImage> sources;
+    private Map<BufferedImage, Map<String, BufferedImage>> copies;
+
+    /**
+     * The constructor of a new, empty, Image cache.
+     */
+    public ImageCache() {
+        this.sources = new HashMap<>();
+        this.copies = new HashMap<>();
+    }
+
+    /**
+     * Reads the image of a given resource path, if it wasn't read yet.
+     *
+     * @param path the given path.
+     * @return the image, or null if there is no resource in the path.
+     */
+    public BufferedImage read(String path) {
+        if (this.sources.containsKey(path)) {
+            return this.sources.get(path);
+        }
+        BufferedImage image = null;
+        try {
+            InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(path);
+            if (is != null) {
+                image = ImageIO.read(is);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed loading image");
+        }
+        this.sources.put(path, image);
+        return image;
+    }
+
+    /**
+     * Returns the render-ready copy of a given image in a given size, and creates it if it wasn't created yet.
+     *
+     * @param image  the given image, which was read by the cache.
+     * @param width  the given width.
+     * @param height the given height.
+     * @return the copy, or null if the image is null.
+     */
+    public BufferedImage renderReady(BufferedImage image, int width, int height) {
+        if (image == null) {
+            return null;
+        }
+        Map<String, BufferedImage> sizes = this.copies.get(image);
+        if (sizes == null) {
+            sizes = new HashMap<>();
+            this.copies.put(image, sizes);
+        }
+        String size = width + "x" + height;
+        BufferedImage copy = sizes.get(size);
+        if (copy == null) {
+            copy = convert(image, width, height);
+            sizes.put(size, copy);
+        }
+        return copy;
+    }
+
+    /**
+     * Converts a given image to an int packed image, scaled to a given size.
+     *
+     * @param image  the given image.
+     * @param width  the given width.
+     * @param height the given height.
+     * @return the converted image, or the given image if the size is empty.
+     */
+    public static BufferedImage convert(BufferedImage image, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return image;
+        }
+        int type = image.getTransparency() == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB
+                : BufferedImage.TYPE_INT_ARGB_PRE;
+        BufferedImage copy = new BufferedImage(width, height, type);
+        Graphics2D graphics = copy.createGraphics();
+        if (width != image.getWidth() || height != image.getHeight()) {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        }
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return copy;
+    }
+}
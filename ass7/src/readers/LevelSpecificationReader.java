@@ -9,7 +9,6 @@ import interfaces.Sprite;
 import general.Velocity;
 import sprites.colliadables.Block;
 
-import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -23,6 +22,8 @@ import java.util.List;
  * The Level specification reader class.
  */
 public class LevelSpecificationReader {
+    private static final int SCREEN_WIDTH = 800;
+    private static final int SCREEN_HEIGHT = 600;
     private List<LevelInformation> levels;
     private int paddleSpeed;
     private int paddleWidth;
@@ -34,12 +35,15 @@ public class LevelSpecificationReader {
     private int toDestroyed;
     private int rowHeight;
     private String blockLines;
+    private ImageCache images;
 
     /**
      * The constructor of a new Level specification reader.
      */
     public LevelSpecificationReader() {
         this.levels = new ArrayList<>();
+        // one cache for all the levels, so the levels which share a background share its copy.
+        this.images = new ImageCache();
     }
 
     /**
@@ -210,6 +214,21 @@ public class LevelSpecificationReader {
         public int numberOfBlocksToRemove() {
             return this.toDestroyed;
         }
+
+        @Override
+        public int blocksStartX() {
+            return this.startX;
+        }
+
+        @Override
+        public int blocksStartY() {
+            return this.startY;
+        }
+
+        @Override
+        public int rowHeight() {
+            return this.rowHeight;
+        }
     }
 
     /**
@@ -246,17 +265,11 @@ public class LevelSpecificationReader {
                             value.substring("color(".length(), value.length() - 1)));
                 } else {
                     if (value.startsWith("image(") && value.endsWith(")")) {
-                        BufferedImage imageBuffer = null;
-                        try {
-                            InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(
-                                    value.substring("image(".length(), value.length() - 1));
-                            if (is != null) {
-                                imageBuffer = ImageIO.read(is);
-                            }
-                        } catch (IOException e) {
-                            throw new RuntimeException("Failed loading image");
-                        }
-                        this.backgroundSprite = new BackgroundFromImage(imageBuffer);
+                        BufferedImage imageBuffer = this.images.read(value.substring("image(".length(),
+                                value.length() - 1));
+                        // the background is drawn from its render-ready copy, in the screen's size.
+                        this.backgroundSprite = new BackgroundFromImage(this.images.renderReady(imageBuffer,
+                                SCREEN_WIDTH, SCREEN_HEIGHT));
                     }
                 }
                 continue;
@@ -0,0 +1,593 @@
+package sprites;
+
+import biuoop.DrawSurface;
+import collections.DirtyRegions;
+import collections.GameEnvironment;
+import collections.SpatialHash;
+import general.Velocity;
+import geometry.Rectangle;
+import geometry.SegmentHit;
+import interfaces.Collidable;
+import interfaces.InterpolatedSprite;
+import interfaces.PartialSprite;
+
+import java.awt.Color;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The Ball system class.
+ * It holds all the balls of a level in arrays of their locations, velocities, radiuses and colors,
+ * and moves all of them in one loop, as a single sprite.
+ * Each ball has a Ball object, which points to its place in the arrays, so the collidables and the listeners
+ * get the ball which hit them. A removed ball's place is filled by the last ball.
+ * A step of the balls doesn't create new objects: the closest collision and the velocity after a hit are
+ * written into holders which the system reuses.
+ * Optionally, the balls also bounce off each other. The pairs of balls which may touch are found by a spatial
+ * hash, so the cost grows with the number of balls, and not with the number of pairs.
+ */
+public class BallSystem implements InterpolatedSprite, PartialSprite {
+    private GameEnvironment environment;
+    private int screenWidth;
+    private int screenSide;
+    private int count;
+    private Ball[] balls;
+    private double[] x;
+    private double[] y;
+    private double[] prevX;
+    private double[] prevY;
+    private double[] dx;
+    private double[] dy;
+    private int[] radius;
+    private Color[] colors;
+    private int[] movedAt;
+    private int ticks;
+    private SegmentHit hit;
+    private Velocity velocity;
+    private SpatialHash hash;
+    private int[] drawnX;
+    private int[] drawnY;
+    private int[] drawnRadius;
+    private int drawnCount;
+
+    /**
+     * The constructor of a new, empty, Ball system.
+     *
+     * @param environment the game environment in which the balls exist.
+     * @param width       the screen's width.
+     * @param side        the screen's side - the short side of the borders.
+     */
+    public BallSystem(GameEnvironment environment, int width, int side) {
+        this.environment = environment;
+        this.screenWidth = width;
+        this.screenSide = side;
+        this.count = 0;
+        this.ticks = 0;
+        this.hit = new SegmentHit();
+        this.velocity = new Velocity(0, 0);
+        this.balls = new Ball[0];
+        this.grow(16);
+    }
+
+    /**
+     * Adds a new ball to the system, and to the game environment.
+     *
+     * @param centerX the X coordinate of the ball's center.
+     * @param centerY the Y coordinate of the ball's center.
+     * @param r       the radius of the ball.
+     * @param color   the color of the ball.
+     * @param v       the velocity of the ball.
+     * @return the new ball.
+     */
+    public Ball add(double centerX, double centerY, int r, Color color, Velocity v) {
+        if (this.count == this.balls.length) {
+            this.grow(this.balls.length * 2);
+        }
+        int i = this.count++;
+        this.x[i] = centerX;
+        this.y[i] = centerY;
+        this.prevX[i] = centerX;
+        this.prevY[i] = centerY;
+        this.dx[i] = v.getDx();
+        this.dy[i] = v.getDy();
+        this.radius[i] = r;
+        this.colors[i] = color;
+        this.movedAt[i] = this.ticks;
+        this.balls[i] = new Ball(this, i);
+        this.environment.addBall(this.balls[i]);
+        return this.balls[i];
+    }
+
+    /**
+     * Removes a given ball from the system and from the game environment.
+     * The last ball is moved to the removed ball's place.
+     *
+     * @param b the given ball.
+     */
+    public void remove(Ball b) {
+        int i = b.getIndex();
+        if (i < 0 || this.balls[i] != b) {
+            return;
+        }
+        this.environment.removeBall(b);
+        int last = --this.count;
+        if (i != last) {
+            this.x[i] = this.x[last];
+            this.y[i] = this.y[last];
+            this.prevX[i] = this.prevX[last];
+            this.prevY[i] = this.prevY[last];
+            this.dx[i] = this.dx[last];
+            this.dy[i] = this.dy[last];
+            this.radius[i] = this.radius[last];
+            this.colors[i] = this.colors[last];
+            this.movedAt[i] = this.movedAt[last];
+            this.balls[i] = this.balls[last];
+            this.balls[i].setIndex(i);
+        }
+        this.balls[last] = null;
+        this.colors[last] = null;
+        b.setIndex(-1);
+    }
+
+    /**
+     * @return the number of balls in the system.
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * @param i the given place.
+     * @return the ball in the given place.
+     */
+    public Ball get(int i) {
+        return this.balls[i];
+    }
+
+    /**
+     * Moves all the balls one step.
+     * The balls are moved from the last to the first, so a ball which is removed while it moves is replaced
+     * by a ball which was already moved. Each ball is moved once a tick, even if it was moved to another place.
+     */
+    @Override
+    public void timePassed() {
+        this.ticks++;
+        for (int i = this.count - 1; i >= 0; i--) {
+            if (i >= this.count || this.movedAt[i] == this.ticks) {
+                continue;
+            }
+            this.movedAt[i] = this.ticks;
+            this.prevX[i] = this.x[i];
+            this.prevY[i] = this.y[i];
+            this.moveOneStep(i);
+        }
+        if (this.hash != null) {
+            this.collideBalls();
+        }
+    }
+
+    /**
+     * Sets if the balls bounce off each other after each step, or pass through each other.
+     * The hash's cells are as large as the balls, so a ball can touch only the balls in its own cell and the
+     * cells around it. Balls which are larger than the given radius may miss some of their contacts.
+     *
+     * @param collide    true for balls which bounce off each other.
+     * @param ballRadius the radius of the balls.
+     */
+    public void setBallCollisions(boolean collide, int ballRadius) {
+        this.hash = collide ? new SpatialHash(2 * ballRadius) : null;
+    }
+
+    /**
+     * Bounces all the pairs of balls which touch each other and move towards each other.
+     * A ball which touches several balls bounces off each of them in turn.
+     */
+    private void collideBalls() {
+        this.hash.build(this.x, this.y, this.count);
+        for (int i = 0; i < this.count; i++) {
+            int col = this.hash.cell(this.x[i]);
+            int row = this.hash.cell(this.y[i]);
+            for (int c = col - 1; c <= col + 1; c++) {
+                for (int r = row - 1; r <= row + 1; r++) {
+                    // each pair is checked from its lower index.
+                    for (int j = this.hash.first(c, r); j >= 0; j = this.hash.next(j)) {
+                        if (j > i) {
+                            this.bounce(i, j);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Bounces the balls in two given places off each other, if they touch and move towards each other.
+     * The bounce is elastic, and the mass of each ball is as its area. Only the velocities are changed, so the
+     * balls separate by their next steps, and never pushed into a collidable.
+     *
+     * @param i the place of the first ball.
+     * @param j the place of the second ball.
+     */
+    private void bounce(int i, int j) {
+        double nx = this.x[j] - this.x[i];
+        double ny = this.y[j] - this.y[i];
+        double distance = nx * nx + ny * ny;
+        double reach = this.radius[i] + this.radius[j];
+        if (distance >= reach * reach || distance == 0) {
+            return;
+        }
+        // the balls' relative velocity along the line between their centers.
+        double approach = (this.dx[j] - this.dx[i]) * nx + (this.dy[j] - this.dy[i]) * ny;
+        if (approach >= 0) {
+            return;
+        }
+        double massI = this.radius[i] * this.radius[i];
+        double massJ = this.radius[j] * this.radius[j];
+        double k = 2 * approach / ((massI + massJ) * distance);
+        this.dx[i] += k * massJ * nx;
+        this.dy[i] += k * massJ * ny;
+        this.dx[j] -= k * massI * nx;
+        this.dy[j] -= k * massI * ny;
+    }
+
+    @Override
+    public void drawOn(DrawSurface d) {
+        this.drawOn(d, 1);
+    }
+
+    @Override
+    public void drawOn(DrawSurface d, double alpha) {
+        for (int i = 0; i < this.count; i++) {
+            this.drawBall(i, d, alpha);
+        }
+    }
+
+    @Override
+    public void addChangedRegions(DirtyRegions regions, double alpha) {
+        // the places are compared, so a ball which took a removed ball's place changes both their regions.
+        for (int i = 0; i < this.count; i++) {
+            int centerX = (int) (this.prevX[i] + (this.x[i] - this.prevX[i]) * alpha);
+            int centerY = (int) (this.prevY[i] + (this.y[i] - this.prevY[i]) * alpha);
+            if (i < this.drawnCount && centerX == this.drawnX[i] && centerY == this.drawnY[i]
+                    && this.radius[i] == this.drawnRadius[i]) {
+                continue;
+            }
+            if (i < this.drawnCount) {
+                addBallRegion(regions, this.drawnX[i], this.drawnY[i], this.drawnRadius[i]);
+            }
+            addBallRegion(regions, centerX, centerY, this.radius[i]);
+            this.drawnX[i] = centerX;
+            this.drawnY[i] = centerY;
+            this.drawnRadius[i] = this.radius[i];
+        }
+        for (int i = this.count; i < this.drawnCount; i++) {
+            addBallRegion(regions, this.drawnX[i], this.drawnY[i], this.drawnRadius[i]);
+        }
+        this.drawnCount = this.count;
+    }
+
+    /**
+     * Adds the region of a ball, with its outline, to given regions.
+     *
+     * @param regions the given regions.
+     * @param centerX the X coordinate of the ball's center.
+     * @param centerY the Y coordinate of the ball's center.
+     * @param r       the ball's radius.
+     */
+    private static void addBallRegion(DirtyRegions regions, int centerX, int centerY, int r) {
+        regions.add(centerX - r - 1, centerY - r - 1, centerX + r + 2, centerY + r + 2);
+    }
+
+    @Override
+    public boolean overlaps(int minX, int minY, int maxX, int maxY) {
+        for (int i = 0; i < this.drawnCount; i++) {
+            if (this.drawnOverlaps(i, minX, minY, maxX, maxY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void drawOverlapping(DrawSurface d, int minX, int minY, int maxX, int maxY, double alpha) {
+        // the balls are checked where they were last marked, which is where they are drawn in the next frame.
+        int n = Math.min(this.count, this.drawnCount);
+        for (int i = 0; i < n; i++) {
+            if (this.drawnOverlaps(i, minX, minY, maxX, maxY)) {
+                this.drawBall(i, d, alpha);
+            }
+        }
+    }
+
+    /**
+     * Checks if the ball in a given place, with its outline, as drawn in the next frame, overlaps a given
+     * rectangle.
+     *
+     * @param i    the given place.
+     * @param minX the left bound of the rectangle.
+     * @param minY the up bound of the rectangle.
+     * @param maxX the right bound of the rectangle.
+     * @param maxY the down bound of the rectangle.
+     * @return true if the ball overlaps the rectangle, and false otherwise.
+     */
+    private boolean drawnOverlaps(int i, int minX, int minY, int maxX, int maxY) {
+        int r = this.drawnRadius[i] + 1;
+        return this.drawnX[i] - r < maxX && minX < this.drawnX[i] + r + 1
+                && this.drawnY[i] - r < maxY && minY < this.drawnY[i] + r + 1;
+    }
+
+    /**
+     * Draws the ball in a given place, between its location before the last move and its current location.
+     *
+     * @param i     the given place.
+     * @param d     the surface.
+     * @param alpha 0 for the location before the last move, 1 for the current location.
+     */
+    void drawBall(int i, DrawSurface d, double alpha) {
+        int centerX = (int) (this.prevX[i] + (this.x[i] - this.prevX[i]) * alpha);
+        int centerY = (int) (this.prevY[i] + (this.y[i] - this.prevY[i]) * alpha);
+        d.setColor(this.colors[i]);
+        d.fillCircle(centerX, centerY, this.radius[i]);
+        d.setColor(Color.BLACK);
+        d.drawCircle(centerX, centerY, this.radius[i]);
+    }
+
+    /**
+     * The method sets the ball in a given place to its new position.
+     * It computes the ball trajectory (the trajectory is "how the ball will move
+     * without any obstacles" - its a line starting at current location, and
+     * ending where the velocity will take the ball if no collisions will occur).
+     * <p>
+     * The method checks if moving on this trajectory will hit anything.
+     * If no, then move the ball to the end of the trajectory.
+     * Otherwise (there is a hit): the ball is moving until the collision point, and his velocity is changed,
+     * according the "hit rules" of the object, that the ball hit at.
+     *
+     * @param i the given place.
+     */
+    void moveOneStep(int i) {
+        this.outside(i);
+        // Check if the ball inside the paddle, and if so - change the ball's location to be on top the paddle.
+        Rectangle paddle = this.inPaddle(i);
+        if (paddle != null) {
+            this.y[i] = paddle.getMinY() - this.radius[i];
+        }
+        // the trajectory goes from the ball's location to where the velocity takes it, and the change along it
+        // is taken from its end point, same as the change along a trajectory line.
+        double endX = this.x[i] + this.dx[i];
+        double endY = this.y[i] + this.dy[i];
+        Collidable obj = this.environment.closestCollision(this.x[i], this.y[i], endX - this.x[i],
+                endY - this.y[i], this.balls[i], this.hit);
+        if (obj == null) {
+            this.x[i] += this.dx[i];
+            this.y[i] += this.dy[i];
+            return;
+        }
+        double colX = this.hit.getX();
+        double colY = this.hit.getY();
+        Rectangle collisionRect = obj.getCollisionRectangle();
+        double radiusY = 0;
+        double radiusX = 0;
+        // the collision occurred at the up side.
+        if (collisionRect.isOnUp(colX, colY)) {
+            radiusY = -1 * this.radius[i];
+        }
+        // the collision occurred at the down side.
+        if (collisionRect.isOnDown(colX, colY)) {
+            radiusY = this.radius[i];
+        }
+        // the collision occurred at the left side.
+        if (collisionRect.isOnLeft(colX, colY)) {
+            radiusX = -1 * this.radius[i];
+        }
+        // the collision occurred at the right side.
+        if (collisionRect.isOnRight(colX, colY)) {
+            radiusX = this.radius[i];
+        }
+        this.x[i] = colX + radiusX;
+        this.y[i] = colY + radiusY;
+        Ball ball = this.balls[i];
+        this.velocity.set(this.dx[i], this.dy[i]);
+        obj.hit(ball, colX, colY, this.velocity);
+        // a listener of the hit may have removed the ball, or moved it to another place.
+        if (ball.getIndex() >= 0) {
+            this.dx[ball.getIndex()] = this.velocity.getDx();
+            this.dy[ball.getIndex()] = this.velocity.getDy();
+        }
+    }
+
+    /**
+     * Returns the ball in a given place into the screen, if it crossed the up, right or left borders.
+     *
+     * @param i the given place.
+     */
+    private void outside(int i) {
+        // the ball crossed the up border.
+        if (this.y[i] < 2 * this.screenSide) {
+            this.y[i] = (this.screenSide * 2) + this.radius[i];
+            this.dy[i] = -1 * this.dy[i];
+        }
+        // the ball crossed the right border.
+        if (this.x[i] > this.screenWidth - this.screenSide) {
+            this.x[i] = this.screenWidth - this.screenSide - this.radius[i];
+            this.dx[i] = -1 * this.dx[i];
+        }
+        // the ball crossed the left border.
+        if (this.x[i] < this.screenSide) {
+            this.x[i] = this.radius[i] + this.screenSide;
+            this.dx[i] = -1 * this.dx[i];
+        }
+    }
+
+    /**
+     * Checks if the center of the ball in a given place is inside the paddle.
+     *
+     * @param i the given place.
+     * @return the paddle's rectangle if the ball is inside it, and null otherwise.
+     */
+    private Rectangle inPaddle(int i) {
+        // the paddle is a dynamic collidable, so only the dynamic collidables are checked.
+        List<Collidable> dynamics = this.environment.getDynamicList();
+        for (int k = 0; k < dynamics.size(); k++) {
+            Rectangle rect = dynamics.get(k).getCollisionRectangle();
+            // The ball will be contained in the paddle,
+            // if it's center point's X and Y coordinates are in the range of the paddle's X and Y coordinates.
+            if (this.x[i] >= rect.getMinX() && this.x[i] <= rect.getMaxX()
+                    && this.y[i] >= rect.getMinY() && this.y[i] <= rect.getMaxY()) {
+                return rect;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param i the given place.
+     * @return the X coordinate of the center of the ball in the given place.
+     */
+    double getX(int i) {
+        return this.x[i];
+    }
+
+    /**
+     * @param i the given place.
+     * @return the Y coordinate of the center of the ball in the given place.
+     */
+    double getY(int i) {
+        return this.y[i];
+    }
+
+    /**
+     * @param i the given place.
+     * @return the change of the X coordinate in each step of the ball in the given place.
+     */
+    double getDx(int i) {
+        return this.dx[i];
+    }
+
+    /**
+     * @param i the given place.
+     * @return the change of the Y coordinate in each step of the ball in the given place.
+     */
+    double getDy(int i) {
+        return this.dy[i];
+    }
+
+    /**
+     * @param i the given place.
+     * @return the radius of the ball in the given place.
+     */
+    int getRadius(int i) {
+        return this.radius[i];
+    }
+
+    /**
+     * @param i the given place.
+     * @return the color of the ball in the given place.
+     */
+    Color getColor(int i) {
+        return this.colors[i];
+    }
+
+    /**
+     * Sets the velocity of the ball in a given place.
+     *
+     * @param i     the given place.
+     * @param newDx the change of the X coordinate.
+     * @param newDy the change of the Y coordinate.
+     */
+    void setVelocity(int i, double newDx, double newDy) {
+        this.dx[i] = newDx;
+        this.dy[i] = newDy;
+    }
+
+    /**
+     * @return the number of bytes the state of the balls takes in a snapshot.
+     */
+    public int snapshotSize() {
+        return Integer.BYTES + this.count * (6 * Double.BYTES + 2 * Integer.BYTES);
+    }
+
+    /**
+     * Writes the state of the balls - their locations before and after the last move, velocities, radiuses
+     * and colors, to a given buffer.
+     *
+     * @param out the given buffer.
+     */
+    public void snapshot(ByteBuffer out) {
+        out.putInt(this.count);
+        for (int i = 0; i < this.count; i++) {
+            out.putDouble(this.x[i]).putDouble(this.y[i]).putDouble(this.prevX[i]).putDouble(this.prevY[i]);
+            out.putDouble(this.dx[i]).putDouble(this.dy[i]);
+            out.putInt(this.radius[i]).putInt(this.colors[i].getRGB());
+        }
+    }
+
+    /**
+     * Restores the state of the balls from a given buffer, which was written by snapshot.
+     * The balls in the places which are still in use keep their Ball objects, and the game environment
+     * is updated with the balls which were added or removed.
+     *
+     * @param in the given buffer.
+     */
+    public void restore(ByteBuffer in) {
+        int n = in.getInt();
+        while (this.count > n) {
+            this.remove(this.balls[this.count - 1]);
+        }
+        if (n > this.balls.length) {
+            this.grow(Math.max(n, this.balls.length * 2));
+        }
+        while (this.count < n) {
+            this.balls[this.count] = new Ball(this, this.count);
+            this.environment.addBall(this.balls[this.count]);
+            this.count++;
+        }
+        for (int i = 0; i < n; i++) {
+            this.x[i] = in.getDouble();
+            this.y[i] = in.getDouble();
+            this.prevX[i] = in.getDouble();
+            this.prevY[i] = in.getDouble();
+            this.dx[i] = in.getDouble();
+            this.dy[i] = in.getDouble();
+            this.radius[i] = in.getInt();
+            int rgb = in.getInt();
+            // colors are shared, and a new one is created only if the ball's color was changed.
+            if (this.colors[i] == null || this.colors[i].getRGB() != rgb) {
+                this.colors[i] = new Color(rgb, true);
+            }
+            this.movedAt[i] = this.ticks;
+        }
+    }
+
+    /**
+     * Grows the arrays to a given capacity.
+     *
+     * @param capacity the given capacity.
+     */
+    private void grow(int capacity) {
+        this.balls = Arrays.copyOf(this.balls, capacity);
+        this.x = copy(this.x, capacity);
+        this.y = copy(this.y, capacity);
+        this.prevX = copy(this.prevX, capacity);
+        this.prevY = copy(this.prevY, capacity);
+        this.dx = copy(this.dx, capacity);
+        this.dy = copy(this.dy, capacity);
+        this.radius = this.radius == null ? new int[capacity] : Arrays.copyOf(this.radius, capacity);
+        this.movedAt = this.movedAt == null ? new int[capacity] : Arrays.copyOf(this.movedAt, capacity);
+        this.colors = this.colors == null ? new Color[capacity] : Arrays.copyOf(this.colors, capacity);
+        this.drawnX = this.drawnX == null ? new int[capacity] : Arrays.copyOf(this.drawnX, capacity);
+        this.drawnY = this.drawnY == null ? new int[capacity] : Arrays.copyOf(this.drawnY, capacity);
+        this.drawnRadius = this.drawnRadius == null ? new int[capacity]
+                : Arrays.copyOf(this.drawnRadius, capacity);
+    }
+
+    /**
+     * @param array    the given array, may be null.
+     * @param capacity the new length.
+     * @return a copy of the given array with the new length.
+     */
+    private static double[] copy(double[] array, int capacity) {
+        return array == null ? new double[capacity] : Arrays.copyOf(array, capacity);
+    }
+}
@@ -0,0 +1,134 @@
+package sprites;
+
+import biuoop.DrawSurface;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Polygon;
+import java.awt.image.BufferedImage;
+
+/**
+ * The Image draw surface class.
+ * A draw surface which draws on an image, so sprites can be drawn once and the image drawn many times.
+ */
+public class ImageDrawSurface implements DrawSurface {
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    /**
+     * The constructor of a new Image draw surface.
+     *
+     * @param image the image to draw on.
+     */
+    public ImageDrawSurface(BufferedImage image) {
+        this.image = image;
+        this.graphics = image.createGraphics();
+    }
+
+    /**
+     * @return the image the surface draws on.
+     */
+    public BufferedImage getImage() {
+        return this.image;
+    }
+
+    /**
+     * Limits the drawing to a given rectangle, until the clip is changed again.
+     *
+     * @param x the X coordinate of the rectangle's upper left point.
+     * @param y the Y coordinate of the rectangle's upper left point.
+     * @param w the rectangle's width.
+     * @param h the rectangle's height.
+     */
+    public void setClip(int x, int y, int w, int h) {
+        this.graphics.setClip(x, y, w, h);
+    }
+
+    /**
+     * @param fontSize the given font size.
+     * @return the font texts of a given size are drawn in.
+     */
+    public static Font font(int fontSize) {
+        return new Font(Font.SANS_SERIF, Font.PLAIN, fontSize);
+    }
+
+    /**
+     * Releases the resources of the surface. It can't be drawn on after that.
+     */
+    public void dispose() {
+        this.graphics.dispose();
+    }
+
+    @Override
+    public void drawCircle(int x, int y, int r) {
+        this.graphics.drawOval(x - r, y - r, 2 * r, 2 * r);
+    }
+
+    @Override
+    public void drawImage(int x, int y, Image img) {
+        this.graphics.drawImage(img, x, y, null);
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        this.graphics.drawLine(x1, y1, x2, y2);
+    }
+
+    @Override
+    public void drawOval(int x, int y, int w, int h) {
+        this.graphics.drawOval(x, y, w, h);
+    }
+
+    @Override
+    public void drawPolygon(Polygon p) {
+        this.graphics.drawPolygon(p);
+    }
+
+    @Override
+    public void drawRectangle(int x, int y, int w, int h) {
+        this.graphics.drawRect(x, y, w, h);
+    }
+
+    @Override
+    public void drawText(int x, int y, String s, int fontSize) {
+        this.graphics.setFont(font(fontSize));
+        this.graphics.drawString(s, x, y);
+    }
+
+    @Override
+    public void fillCircle(int x, int y, int r) {
+        this.graphics.fillOval(x - r, y - r, 2 * r, 2 * r);
+    }
+
+    @Override
+    public void fillOval(int x, int y, int w, int h) {
+        this.graphics.fillOval(x, y, w, h);
+    }
+
+    @Override
+    public void fillPolygon(Polygon p) {
+        this.graphics.fillPolygon(p);
+    }
+
+    @Override
+    public void fillRectangle(int x, int y, int w, int h) {
+        this.graphics.fillRect(x, y, w, h);
+    }
+
+    @Override
+    public int getHeight() {
+        return this.image.getHeight();
+    }
+
+    @Override
+    public int getWidth() {
+        return this.image.getWidth();
+    }
+
+    @Override
+    public void setColor(Color c) {
+        this.graphics.setColor(c);
+    }
+}
@@ -0,0 +1,182 @@
+package sprites;
+
+import biuoop.DrawSurface;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The Outlined text cache class.
+ * An outlined text is drawn five times: four times in the outline color, moved by an addition to each side, and
+ * once more in the inner color. The cache draws each outlined text once on an image, and then draws the image
+ * instead, so a menu or a screen which doesn't change isn't drawn again each frame.
+ * The images are kept by their text, font size, addition and colors, and the least recently used ones are dropped
+ * when there are too many of them. One cache is shared by all the animations.
+ */
+public class OutlinedTextCache {
+    // the most outlined texts kept.
+    private static final int CAPACITY = 256;
+    // the empty margin around the text in each image.
+    private static final int PAD = 1;
+    private static final OutlinedTextCache SHARED = new OutlinedTextCache(CAPACITY);
+    private Map<Key, Glyph> glyphs;
+    private Key probe;
+    private FontRenderContext context;
+
+    /**
+     * The constructor of a new, empty, Outlined text cache.
+     *
+     * @param capacity the most outlined texts kept.
+     */
+    public OutlinedTextCache(final int capacity) {
+        this.glyphs = new LinkedHashMap<Key, Glyph>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Glyph> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.probe = new Key();
+        Graphics2D graphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB_PRE).createGraphics();
+        this.context = graphics.getFontRenderContext();
+        graphics.dispose();
+    }
+
+    /**
+     * @return the cache which is shared by all the animations.
+     */
+    public static OutlinedTextCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Draws an outlined text on a given surface, as drawing the outline texts and then the inner text does.
+     * The first time a text is drawn, its five texts are drawn on an image of its own, and from then on only the
+     * image is drawn, until the text is dropped from the cache.
+     *
+     * @param d        the given surface.
+     * @param x        the x coordinate the text is drawn at.
+     * @param y        the y coordinate the text is drawn at.
+     * @param text     the text to draw.
+     * @param fontSize the text's font size.
+     * @param add      the addition the outline texts are moved by.
+     * @param inner    the inner text color.
+     * @param outline  the outline texts color.
+     */
+    public synchronized void draw(DrawSurface d, int x, int y, String text, int fontSize, double add, Color inner,
+                                  Color outline) {
+        // the outline texts are drawn at the coordinates cut to int, so they're moved back by the addition
+        // rounded up, and forward by the addition rounded down.
+        int back = (int) Math.ceil(add);
+        int forward = (int) Math.floor(add);
+        this.probe.set(text, fontSize, back, forward, inner, outline);
+        Glyph glyph = this.glyphs.get(this.probe);
+        if (glyph == null) {
+            Key key = new Key();
+            key.set(text, fontSize, back, forward, inner, outline);
+            glyph = this.render(key);
+            this.glyphs.put(key, glyph);
+        }
+        d.drawImage(x - glyph.originX, y - glyph.originY, glyph.image);
+    }
+
+    /**
+     * @return the number of outlined texts kept.
+     */
+    public synchronized int size() {
+        return this.glyphs.size();
+    }
+
+    /**
+     * Draws the outlined text of a given key on a new image, just big enough for it.
+     *
+     * @param key the given key.
+     * @return the image, with the point the text is drawn at in it.
+     */
+    private Glyph render(Key key) {
+        Font font = ImageDrawSurface.font(key.fontSize);
+        Rectangle bounds = font.createGlyphVector(this.context, key.text).getPixelBounds(this.context, 0, 0);
+        Glyph glyph = new Glyph();
+        glyph.originX = PAD + key.back - bounds.x;
+        glyph.originY = PAD + key.back - bounds.y;
+        glyph.image = new BufferedImage(bounds.width + key.back + key.forward + 2 * PAD,
+                bounds.height + key.back + key.forward + 2 * PAD, BufferedImage.TYPE_INT_ARGB_PRE);
+        ImageDrawSurface surface = new ImageDrawSurface(glyph.image);
+        surface.setColor(key.outline);
+        surface.drawText(glyph.originX - key.back, glyph.originY, key.text, key.fontSize);
+        surface.drawText(glyph.originX + key.forward, glyph.originY, key.text, key.fontSize);
+        surface.drawText(glyph.originX, glyph.originY - key.back, key.text, key.fontSize);
+        surface.drawText(glyph.originX, glyph.originY + key.forward, key.text, key.fontSize);
+        surface.setColor(key.inner);
+        surface.drawText(glyph.originX, glyph.originY, key.text, key.fontSize);
+        surface.dispose();
+        return glyph;
+    }
+
+    /**
+     * The key of an outlined text.
+     */
+    private static class Key {
+        private String text;
+        private int fontSize;
+        private int back;
+        private int forward;
+        private Color inner;
+        private Color outline;
+
+        /**
+         * Sets the key's fields.
+         *
+         * @param textCur     the text.
+         * @param fontSizeCur the font size.
+         * @param backCur     the addition the outline texts are moved back by.
+         * @param forwardCur  the addition the outline texts are moved forward by.
+         * @param innerCur    the inner text color.
+         * @param outlineCur  the outline texts color.
+         */
+        private void set(String textCur, int fontSizeCur, int backCur, int forwardCur, Color innerCur,
+                         Color outlineCur) {
+            this.text = textCur;
+            this.fontSize = fontSizeCur;
+            this.back = backCur;
+            this.forward = forwardCur;
+            this.inner = innerCur;
+            this.outline = outlineCur;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return this.text.equals(other.text) && this.fontSize == other.fontSize && this.back == other.back
+                    && this.forward == other.forward && this.inner.equals(other.inner)
+                    && this.outline.equals(other.outline);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = this.text.hashCode();
+            hash = hash * 31 + this.fontSize;
+            hash = hash * 31 + this.back;
+            hash = hash * 31 + this.forward;
+            hash = hash * 31 + this.inner.hashCode();
+            return hash * 31 + this.outline.hashCode();
+        }
+    }
+
+    /**
+     * The image of an outlined text, with the point the text is drawn at in it.
+     */
+    private static class Glyph {
+        private BufferedImage image;
+        private int originX;
+        private int originY;
+    }
+}
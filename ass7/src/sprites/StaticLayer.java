@@ -0,0 +1,187 @@
+package sprites;
+
+import biuoop.DrawSurface;
+import collections.DirtyRegions;
+import collections.SpriteCollection;
+import geometry.Rectangle;
+import interfaces.HitListener;
+import interfaces.RegionSprite;
+import interfaces.Sprite;
+import sprites.colliadables.Block;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+/**
+ * The Static layer class.
+ * It holds the sprites which don't move - the background, the borders and the blocks, drawn once on an image,
+ * so each frame draws the image instead of each of the sprites.
+ * When a sprite is added, removed, or hit and changes its look, only its rectangle is marked as dirty, and before
+ * the next frame only the sprites in the dirty rectangles are drawn again, clipped to them.
+ * The sprites are kept in the layers of a sprite collection: the background, the borders and the blocks.
+ * The layer is a hit listener, so it's told when a block is hit.
+ * The dirty rectangles are also kept for the frame the layer is drawn on, apart from the ones which are drawn
+ * again on the image, since the layer may be drawn on other surfaces between the frames.
+ */
+public class StaticLayer implements RegionSprite, HitListener {
+    // the dirty rectangles are widened by this margin, for the outlines drawn at their edges.
+    private static final int MARGIN = 1;
+    // at most this number of dirty rectangles is kept, past it all the layer is drawn again, so they don't pile up.
+    private static final int MAX_DIRTY = 64;
+    private int width;
+    private int height;
+    private ImageDrawSurface surface;
+    private SpriteCollection sprites;
+    private int[] dirty;
+    private int dirtyCount;
+    private boolean allDirty;
+    private int[] changed;
+    private int changedCount;
+    private boolean allChanged;
+
+    /**
+     * The constructor of a new, empty, Static layer.
+     *
+     * @param width  the width of the layer.
+     * @param height the height of the layer.
+     */
+    public StaticLayer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.sprites = new SpriteCollection();
+        this.dirty = new int[MAX_DIRTY * 4];
+        this.dirtyCount = 0;
+        this.allDirty = true;
+        this.changed = new int[MAX_DIRTY * 4];
+        this.changedCount = 0;
+        this.allChanged = true;
+    }
+
+    /**
+     * Adds a given sprite on top of a given layer of the layer's sprites.
+     *
+     * @param s         the given sprite.
+     * @param rectangle the rectangle the sprite is drawn in, or null if it may be drawn on all the layer.
+     * @param layer     the given layer.
+     * @return the sprite's handle, which removes it.
+     */
+    public SpriteCollection.Handle add(Sprite s, Rectangle rectangle, SpriteCollection.Layer layer) {
+        this.invalidate(rectangle);
+        return this.sprites.add(s, layer, rectangle);
+    }
+
+    /**
+     * Removes the sprite of a given handle from the layer, if it's still in it.
+     *
+     * @param handle the given handle.
+     */
+    public void remove(SpriteCollection.Handle handle) {
+        if (handle == null || !handle.isAdded()) {
+            return;
+        }
+        this.sprites.remove(handle);
+        this.invalidate(handle.getBounds());
+    }
+
+    /**
+     * Marks a given rectangle of the layer as dirty, so it's drawn again before the next frame.
+     *
+     * @param rectangle the given rectangle, or null for all the layer.
+     */
+    public void invalidate(Rectangle rectangle) {
+        if (rectangle == null) {
+            this.allDirty = true;
+            this.allChanged = true;
+            return;
+        }
+        if (this.dirtyCount == MAX_DIRTY) {
+            this.allDirty = true;
+        } else {
+            add(this.dirty, this.dirtyCount++, rectangle);
+        }
+        if (this.changedCount == MAX_DIRTY) {
+            this.allChanged = true;
+        } else {
+            add(this.changed, this.changedCount++, rectangle);
+        }
+    }
+
+    /**
+     * Adds the bounds of a given rectangle, widened by the margin, to an array of bounds.
+     *
+     * @param bounds    the array of bounds.
+     * @param count     the number of rectangles in the array.
+     * @param rectangle the given rectangle.
+     */
+    private static void add(int[] bounds, int count, Rectangle rectangle) {
+        int i = count * 4;
+        bounds[i] = (int) Math.floor(rectangle.getMinX()) - MARGIN;
+        bounds[i + 1] = (int) Math.floor(rectangle.getMinY()) - MARGIN;
+        bounds[i + 2] = (int) Math.ceil(rectangle.getMaxX()) + MARGIN + 1;
+        bounds[i + 3] = (int) Math.ceil(rectangle.getMaxY()) + MARGIN + 1;
+    }
+
+    @Override
+    public void addChangedRegions(DirtyRegions regions, double alpha) {
+        if (this.allChanged) {
+            regions.addAll();
+        } else {
+            for (int i = 0; i < this.changedCount * 4; i += 4) {
+                regions.add(this.changed[i], this.changed[i + 1], this.changed[i + 2], this.changed[i + 3]);
+            }
+        }
+        this.allChanged = false;
+        this.changedCount = 0;
+    }
+
+    @Override
+    public boolean overlaps(int minX, int minY, int maxX, int maxY) {
+        // the background covers all the layer.
+        return true;
+    }
+
+    @Override
+    public void hitEvent(Block beingHit, Ball hitter) {
+        this.invalidate(beingHit.getCollisionRectangle());
+    }
+
+    @Override
+    public void drawOn(DrawSurface d) {
+        if (this.surface == null) {
+            this.surface = new ImageDrawSurface(new BufferedImage(this.width, this.height,
+                    BufferedImage.TYPE_INT_RGB));
+        }
+        if (this.allDirty) {
+            this.redraw(0, 0, this.width, this.height);
+            this.allDirty = false;
+            this.dirtyCount = 0;
+        }
+        for (int i = 0; i < this.dirtyCount * 4; i += 4) {
+            this.redraw(this.dirty[i], this.dirty[i + 1], this.dirty[i + 2], this.dirty[i + 3]);
+        }
+        this.dirtyCount = 0;
+        d.drawImage(0, 0, this.surface.getImage());
+    }
+
+    /**
+     * Draws again the sprites in a given rectangle, clipped to it.
+     *
+     * @param minX the left bound of the rectangle.
+     * @param minY the up bound of the rectangle.
+     * @param maxX the right bound of the rectangle.
+     * @param maxY the down bound of the rectangle.
+     */
+    private void redraw(int minX, int minY, int maxX, int maxY) {
+        this.surface.setClip(minX, minY, maxX - minX, maxY - minY);
+        this.surface.setColor(Color.BLACK);
+        this.surface.fillRectangle(minX, minY, maxX - minX, maxY - minY);
+        // the sprites' rectangles are widened as the dirty rectangles are.
+        this.sprites.drawOverlapping(this.surface, minX - MARGIN - 1, minY - MARGIN - 1, maxX + MARGIN,
+                maxY + MARGIN);
+    }
+
+    @Override
+    public void timePassed() {
+        this.sprites.notifyAllTimePassed();
+    }
+}
@@ -10,13 +10,14 @@ import geometry.Rectangle;
 import geometry.Point;
 import animations.GameLevel;
 import general.Velocity;
+import builders.FillTable;
+import interfaces.BlockFill;
+import collections.SpriteCollection;
 
 import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
 
 /**
  * The Block class.
@@ -25,13 +26,13 @@ import java.util.TreeMap;
  */
 public class Block implements Collidable, Sprite, HitNotifier {
     private Rectangle block;
-    private Color color;
     private int hitsPoint;
     private List<HitListener> hitListeners;
-    private Map<Integer, Color> colors;
-    private Map<Integer, BufferedImage> images;
-    private BufferedImage image;
+    private HitListener[] listenersView;
+    private FillTable fills;
     private Color stroke;
+    private boolean inGame;
+    private SpriteCollection.Handle handle;
 
     /**
      * The constructor of new block with color fill.
@@ -43,14 +44,7 @@ public class Block implements Collidable, Sprite, HitNotifier {
      * @param color  the color.
      */
     public Block(Point upLeft, int width, int height, Color color) {
-        this.block = new Rectangle(upLeft, width, height);
-        this.color = color;
-        this.hitsPoint = 0;
-        this.hitListeners = new ArrayList<>();
-        this.colors = new TreeMap<>();
-        this.images = new TreeMap<>();
-        this.stroke = null;
-        this.image = null;
+        this(upLeft, width, height, new FillTable(color, null, null, null));
     }
 
     /**
@@ -63,32 +57,25 @@ public class Block implements Collidable, Sprite, HitNotifier {
      * @param image  the block's fill.
      */
     public Block(Point upLeft, int width, int height, BufferedImage image) {
-        this.block = new Rectangle(upLeft, width, height);
-        this.image = image;
-        this.color = null;
-        this.hitsPoint = 0;
-        this.hitListeners = new ArrayList<>();
-        this.colors = new TreeMap<>();
-        this.images = new TreeMap<>();
-        this.stroke = null;
+        this(upLeft, width, height, new FillTable(null, image, null, null));
     }
 
     /**
-     * Sets the number of points to color fill map by a given map.
+     * The constructor of new block, which is filled in each number of hit points by a given table.
+     * It gets the rectangle's properties and the table, which may be shared by other blocks.
      *
-     * @param map the given map
-     */
-    public void setColors(Map<Integer, Color> map) {
-        this.colors = map;
-    }
-
-    /**
-     * Sets the number of points to image fill map by a given map.
-     *
-     * @param map the the given map
+     * @param upLeft the up left.
+     * @param width  the width.
+     * @param height the height.
+     * @param fills  the fill of each number of hit points.
      */
-    public void setImages(Map<Integer, BufferedImage> map) {
-        this.images = map;
+    public Block(Point upLeft, int width, int height, FillTable fills) {
+        this.block = new Rectangle(upLeft, width, height);
+        this.fills = fills;
+        this.hitsPoint = 0;
+        this.hitListeners = new ArrayList<>();
+        this.listenersView = new HitListener[0];
+        this.stroke = null;
     }
 
     /**
@@ -121,26 +108,26 @@ public class Block implements Collidable, Sprite, HitNotifier {
      * The methods updates the block's hit points, and calculates the new velocity of the ball,
      * according the location of the collision point.
      *
-     * @param hitter          is the ball which hits the block.
-     * @param collisionPoint  is the point where the collision occurred.
-     * @param currentVelocity is the ball's velocity before the hit.
-     * @return the new velocity of the ball.
+     * @param hitter   is the ball which hits the block.
+     * @param x        is the X coordinate of the point where the collision occurred.
+     * @param y        is the Y coordinate of the point where the collision occurred.
+     * @param velocity is the ball's velocity before the hit, which is changed to its velocity after the hit.
      */
     @Override
-    public Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity) {
+    public void hit(Ball hitter, double x, double y, Velocity velocity) {
         if (this.hitsPoint > 0) {
             this.hitsPoint--;
         }
         this.notifyHit(hitter);
-        double newDx = currentVelocity.getDx();
-        double newDy = currentVelocity.getDy();
-        if (this.block.getDown().isContain(collisionPoint) || this.block.getUp().isContain(collisionPoint)) {
+        double newDx = velocity.getDx();
+        double newDy = velocity.getDy();
+        if (this.block.isOnDown(x, y) || this.block.isOnUp(x, y)) {
             newDy *= -1;
         }
-        if (this.block.getRight().isContain(collisionPoint) || this.block.getLeft().isContain(collisionPoint)) {
+        if (this.block.isOnRight(x, y) || this.block.isOnLeft(x, y)) {
             newDx *= -1;
         }
-        return new Velocity(newDx, newDy);
+        velocity.set(newDx, newDy);
     }
 
     /**
@@ -152,39 +139,9 @@ public class Block implements Collidable, Sprite, HitNotifier {
     public void drawOn(DrawSurface surface) {
         int x = (int) this.block.getUpperLeft().getX();
         int y = (int) this.block.getUpperLeft().getY();
-        if (this.color != null) {
-            surface.setColor(this.color);
-            if (this.images.containsKey(this.hitsPoint)) {
-                surface.drawImage(x, y, this.images.get(this.hitsPoint));
-            } else {
-                if (this.colors.containsKey(this.hitsPoint)) {
-                    surface.setColor(this.colors.get(this.hitsPoint));
-                } else {
-                    surface.fillRectangle(x, y, (int) this.block.getWidth(), (int) this.block.getHeight());
-                }
-            }
-        } else {
-            if (this.image != null) {
-                if (this.colors.containsKey(this.hitsPoint)) {
-                    surface.setColor(this.colors.get(this.hitsPoint));
-                    surface.fillRectangle(x, y, (int) this.block.getWidth(), (int) this.block.getHeight());
-                } else {
-                    if (this.images.containsKey(this.hitsPoint)) {
-                        surface.drawImage(x, y, this.images.get(this.hitsPoint));
-                    } else {
-                        surface.drawImage(x, y, this.image);
-                    }
-                }
-            } else {
-                if (this.colors.containsKey(this.hitsPoint)) {
-                    surface.setColor(this.colors.get(this.hitsPoint));
-                    surface.fillRectangle(x, y, (int) this.block.getWidth(), (int) this.block.getHeight());
-                } else {
-                    if (this.images.containsKey(this.hitsPoint)) {
-                        surface.drawImage(x, y, this.images.get(this.hitsPoint));
-                    }
-                }
-            }
+        BlockFill fill = this.fills.get(this.hitsPoint);
+        if (fill != null) {
+            fill.fill(surface, x, y, (int) this.block.getWidth(), (int) this.block.getHeight());
         }
         if (this.stroke != null) {
             surface.setColor(this.stroke);
@@ -205,8 +162,19 @@ public class Block implements Collidable, Sprite, HitNotifier {
      * @param g is the given game.
      */
     public void addToGame(GameLevel g) {
-        g.addSprite(this);
+        this.addToGame(g, SpriteCollection.Layer.BLOCKS);
+    }
+
+    /**
+     * Adds the block to a given game, and draws it in a given layer.
+     *
+     * @param g     is the given game.
+     * @param layer is the given layer.
+     */
+    public void addToGame(GameLevel g, SpriteCollection.Layer layer) {
+        this.handle = g.addStaticSprite(this, this.block, layer);
         g.addCollidable(this);
+        this.inGame = true;
     }
 
     /**
@@ -215,18 +183,28 @@ public class Block implements Collidable, Sprite, HitNotifier {
      * @param game is the given game.
      */
     public void removeFromGame(GameLevel game) {
-        game.removeSprite(this);
+        game.removeStaticSprite(this.handle);
         game.removeCollidable(this);
+        this.inGame = false;
+    }
+
+    /**
+     * @return true if the block is in a game, and false if it wasn't added or was removed.
+     */
+    public boolean isInGame() {
+        return this.inGame;
     }
 
     @Override
     public void addHitListener(HitListener hl) {
         this.hitListeners.add(hl);
+        this.listenersView = this.hitListeners.toArray(new HitListener[this.hitListeners.size()]);
     }
 
     @Override
     public void removeHitListener(HitListener hl) {
         this.hitListeners.remove(hl);
+        this.listenersView = this.hitListeners.toArray(new HitListener[this.hitListeners.size()]);
     }
 
     /**
@@ -235,11 +213,11 @@ public class Block implements Collidable, Sprite, HitNotifier {
      * @param hitter is the given ball.
      */
     private void notifyHit(Ball hitter) {
-        // Make a copy of the hitListeners before iterating over them.
-        List<HitListener> listeners = new ArrayList<HitListener>(this.hitListeners);
+        // The copy of the hitListeners is made when they're changed, so a listener can remove itself.
+        HitListener[] listeners = this.listenersView;
         // Notify all listeners about a hit event.
-        for (HitListener hl : listeners) {
-            hl.hitEvent(this, hitter);
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].hitEvent(this, hitter);
         }
     }
 
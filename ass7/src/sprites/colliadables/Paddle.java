@@ -2,8 +2,11 @@ package sprites.colliadables;
 
 import biuoop.DrawSurface;
 import biuoop.KeyboardSensor;
+import collections.DirtyRegions;
 import interfaces.Collidable;
-import interfaces.Sprite;
+import interfaces.InterpolatedSprite;
+import interfaces.PaddleController;
+import interfaces.RegionSprite;
 import sprites.Ball;
 import geometry.Rectangle;
 import geometry.Point;
@@ -14,13 +17,20 @@ import animations.GameLevel;
  * The Paddle class.
  * The Paddle is the player in the game.
  * It's a rectangle that is controlled by the keyboard's arrow keys, and moves according to the user's decision.
+ * A controller may be set to move the paddle instead of the keyboard.
  */
-public class Paddle implements Sprite, Collidable {
+public class Paddle implements InterpolatedSprite, RegionSprite, Collidable {
     private KeyboardSensor keyboard;
     private Rectangle paddle;
+    private double previousX;
     private java.awt.Color color;
     private Velocity vel;
     private GameLevel game;
+    private PaddleController controller;
+    private int drawnX;
+    private int drawnY;
+    private int drawnWidth;
+    private int drawnHeight;
 
     /**
      * The constructor of the paddle.
@@ -39,9 +49,11 @@ public class Paddle implements Sprite, Collidable {
                   java.awt.Color c, double dx, GameLevel g) {
         this.keyboard = keyboard;
         this.paddle = new Rectangle(upLeft, width, height);
+        this.previousX = upLeft.getX();
         this.color = c;
         this.vel = new Velocity(dx, 0);
         this.game = g;
+        this.drawnWidth = 0;
     }
 
     /**
@@ -50,7 +62,7 @@ public class Paddle implements Sprite, Collidable {
      * @param g the game the paddle belongs to.
      */
     public void addToGame(GameLevel g) {
-        g.addCollidable(this);
+        g.addDynamicCollidable(this);
         g.addSprite(this);
     }
 
@@ -62,7 +74,40 @@ public class Paddle implements Sprite, Collidable {
      * @param height the paddle's height.
      */
     public void updateLocation(Point upLeft, int width, int height) {
-        this.paddle = new Rectangle(upLeft, width, height);
+        if (this.paddle.getWidth() == width && this.paddle.getHeight() == height) {
+            this.paddle.moveTo(upLeft.getX(), upLeft.getY());
+        } else {
+            this.paddle = new Rectangle(upLeft, width, height);
+        }
+        this.previousX = upLeft.getX();
+        this.game.collidableMoved(this);
+    }
+
+    /**
+     * Sets a controller which moves the paddle instead of the keyboard.
+     *
+     * @param c the controller, or null for the paddle to be moved by the keyboard.
+     */
+    public void setController(PaddleController c) {
+        this.controller = c;
+    }
+
+    /**
+     * @return the X coordinate of the paddle's upper left point before the last move.
+     */
+    public double getPreviousX() {
+        return this.previousX;
+    }
+
+    /**
+     * Moves the paddle back to a location it was at, as by a rewind of the game.
+     *
+     * @param x        the X coordinate of the paddle's upper left point.
+     * @param previous the X coordinate of the paddle's upper left point before its last move.
+     */
+    public void restoreLocation(double x, double previous) {
+        this.setLocation(x);
+        this.previousX = previous;
     }
 
     /**
@@ -77,26 +122,26 @@ public class Paddle implements Sprite, Collidable {
      * The methods calculates the new speed of the ball after the collision with the paddle,
      * according the position of the collision point on the paddle.
      *
-     * @param hitter          is the ball which hits the block.
-     * @param collisionPoint  is the point where the collision occurred.
-     * @param currentVelocity is the ball's velocity before the hit.
-     * @return the new ball's velocity after the collision with the paddle.
+     * @param hitter   is the ball which hits the block.
+     * @param x        is the X coordinate of the point where the collision occurred.
+     * @param y        is the Y coordinate of the point where the collision occurred.
+     * @param velocity is the ball's velocity before the hit, which is changed to its velocity after the hit.
      */
     @Override
-    public Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity) {
+    public void hit(Ball hitter, double x, double y, Velocity velocity) {
         double section = this.paddle.getWidth() / 5;
-        double speed;
         int angle = 0;
-        if (collisionPoint.getX() >= section * 4 + this.paddle.getUpperLeft().getX()) {
+        if (x >= section * 4 + this.paddle.getMinX()) {
             angle = 60;
         } else {
-            if (collisionPoint.getX() >= section * 3 + this.paddle.getUpperLeft().getX()) {
+            if (x >= section * 3 + this.paddle.getMinX()) {
                 angle = 30;
             } else {
-                if (collisionPoint.getX() >= section * 2 + this.paddle.getUpperLeft().getX()) {
-                    return new Velocity(currentVelocity.getDx(), -1 * currentVelocity.getDy());
+                if (x >= section * 2 + this.paddle.getMinX()) {
+                    velocity.set(velocity.getDx(), -1 * velocity.getDy());
+                    return;
                 } else {
-                    if (collisionPoint.getX() >= section + this.paddle.getUpperLeft().getX()) {
+                    if (x >= section + this.paddle.getMinX()) {
                         angle = 330;
                         // collisionPoint's X coordinate is less than section.
                     } else {
@@ -105,8 +150,7 @@ public class Paddle implements Sprite, Collidable {
                 }
             }
         }
-        speed = getSpeed(currentVelocity);
-        return Velocity.fromAngleAndSpeed(angle, speed);
+        velocity.setAngleAndSpeed(angle, getSpeed(velocity));
     }
 
     /**
@@ -130,15 +174,53 @@ public class Paddle implements Sprite, Collidable {
     @Override
     public void drawOn(DrawSurface d) {
         d.setColor(this.color);
-        d.fillRectangle((int) this.paddle.getUpperLeft().getX(), (int) this.paddle.getUpperLeft().getY(),
+        d.fillRectangle((int) this.paddle.getMinX(), (int) this.paddle.getMinY(),
                 (int) this.paddle.getWidth(), (int) this.paddle.getHeight());
     }
 
+    /**
+     * The method prints the paddle on a given surface, between its location before the last move and its
+     * current location.
+     *
+     * @param d     is the surface the paddle needs to be drawn on.
+     * @param alpha 0 for the location before the last move, 1 for the current location.
+     */
+    @Override
+    public void drawOn(DrawSurface d, double alpha) {
+        d.setColor(this.color);
+        d.fillRectangle((int) (this.previousX + (this.paddle.getMinX() - this.previousX) * alpha),
+                (int) this.paddle.getMinY(), (int) this.paddle.getWidth(), (int) this.paddle.getHeight());
+    }
+
+    @Override
+    public void addChangedRegions(DirtyRegions regions, double alpha) {
+        int x = (int) (this.previousX + (this.paddle.getMinX() - this.previousX) * alpha);
+        int y = (int) this.paddle.getMinY();
+        int w = (int) this.paddle.getWidth();
+        int h = (int) this.paddle.getHeight();
+        if (x == this.drawnX && y == this.drawnY && w == this.drawnWidth && h == this.drawnHeight) {
+            return;
+        }
+        regions.add(this.drawnX, this.drawnY, this.drawnX + this.drawnWidth, this.drawnY + this.drawnHeight);
+        regions.add(x, y, x + w, y + h);
+        this.drawnX = x;
+        this.drawnY = y;
+        this.drawnWidth = w;
+        this.drawnHeight = h;
+    }
+
+    @Override
+    public boolean overlaps(int minX, int minY, int maxX, int maxY) {
+        return this.drawnX < maxX && minX < this.drawnX + this.drawnWidth
+                && this.drawnY < maxY && minY < this.drawnY + this.drawnHeight;
+    }
+
     /**
      * The method notifies the paddle that it should make it's next move.
      */
     @Override
     public void timePassed() {
+        this.previousX = this.paddle.getMinX();
         moveOneStep();
     }
 
@@ -146,6 +228,10 @@ public class Paddle implements Sprite, Collidable {
      * The method moves the paddle according the user's press on the keyboard.
      */
     private void moveOneStep() {
+        if (this.controller != null) {
+            moveTowards(this.controller.targetX(this.paddle));
+            return;
+        }
         if (this.keyboard.isPressed(KeyboardSensor.LEFT_KEY)) {
             moveLeft();
         } else {
@@ -159,36 +245,41 @@ public class Paddle implements Sprite, Collidable {
      * The method calculates the movement of the paddle, in case that the user presses the left arrow.
      */
     private void moveLeft() {
-        Point newUpLeft;
         int minX = this.game.getRectWidth();
-        newUpLeft = new Point(this.paddle.getUpperLeft().getX() - this.vel.getDx(),
-                this.paddle.getUpperLeft().getY());
-        if (newUpLeft.getX() < minX) {
-            newUpLeft = new Point(minX, newUpLeft.getY());
-        }
-        setLocation(newUpLeft);
+        setLocation(Math.max(minX, this.paddle.getMinX() - this.vel.getDx()));
     }
 
     /**
      * The method calculates the movement of the paddle, in case that the user presses the right arrow.
      */
     private void moveRight() {
-        Point newUpLeft;
         int maxX = this.game.getWidth() - this.game.getRectWidth() - (int) this.paddle.getWidth();
-        newUpLeft = new Point(this.paddle.getUpperLeft().getX() + this.vel.getDx(),
-                this.paddle.getUpperLeft().getY());
-        if (newUpLeft.getX() > maxX) {
-            newUpLeft = new Point(maxX, newUpLeft.getY());
+        setLocation(Math.min(maxX, this.paddle.getMinX() + this.vel.getDx()));
+    }
+
+    /**
+     * The method moves the paddle towards a given X coordinate of its center, at most by the paddle's speed.
+     *
+     * @param centerX the given X coordinate.
+     */
+    private void moveTowards(double centerX) {
+        double change = centerX - this.paddle.getWidth() / 2 - this.paddle.getMinX();
+        change = Math.max(-this.vel.getDx(), Math.min(this.vel.getDx(), change));
+        if (change == 0) {
+            return;
         }
-        setLocation(newUpLeft);
+        int minX = this.game.getRectWidth();
+        int maxX = this.game.getWidth() - this.game.getRectWidth() - (int) this.paddle.getWidth();
+        setLocation(Math.max(minX, Math.min(maxX, this.paddle.getMinX() + change)));
     }
 
     /**
-     * The method updates the new location of the paddle.
+     * The method moves the paddle's rectangle, without creating a new one, to a new X coordinate.
      *
-     * @param newP is the new location of the paddle.
+     * @param newX is the new X coordinate of the paddle's upper left point.
      */
-    private void setLocation(Point newP) {
-        this.paddle = new Rectangle(newP, this.paddle.getWidth(), this.paddle.getHeight());
+    private void setLocation(double newX) {
+        this.paddle.moveTo(newX, this.paddle.getMinY());
+        this.game.collidableMoved(this);
     }
 }
@@ -1,7 +1,8 @@
 package sprites.indicators;
 
 import biuoop.DrawSurface;
-import interfaces.Sprite;
+import collections.DirtyRegions;
+import interfaces.RegionSprite;
 import general.Counter;
 import geometry.Rectangle;
 
@@ -10,11 +11,13 @@ import java.awt.Color;
 /**
  * The Lives indicator class.
  */
-public class LivesIndicator implements Sprite {
+public class LivesIndicator implements RegionSprite {
     private Counter lives;
     private Rectangle rect;
     private int textSize;
     private double distance;
+    private boolean drawn;
+    private int drawnLives;
 
     /**
      * The constructor of a new Lives indicator.
@@ -40,6 +43,23 @@ public class LivesIndicator implements Sprite {
                 (int) (this.rect.getUpperLeft().getY() + this.textSize), text, this.textSize);
     }
 
+    @Override
+    public void addChangedRegions(DirtyRegions regions, double alpha) {
+        // the indicator is drawn again only when the lives changed.
+        if (!this.drawn || this.drawnLives != this.lives.getValue()) {
+            regions.add((int) this.rect.getMinX() - 1, (int) this.rect.getMinY() - 1,
+                    (int) this.rect.getMaxX() + 2, (int) this.rect.getMaxY() + 2);
+            this.drawn = true;
+            this.drawnLives = this.lives.getValue();
+        }
+    }
+
+    @Override
+    public boolean overlaps(int minX, int minY, int maxX, int maxY) {
+        return this.rect.getMinX() - 1 < maxX && minX < this.rect.getMaxX() + 2
+                && this.rect.getMinY() - 1 < maxY && minY < this.rect.getMaxY() + 2;
+    }
+
     @Override
     public void timePassed() {
     }
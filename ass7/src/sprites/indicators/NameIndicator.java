@@ -1,19 +1,21 @@
 package sprites.indicators;
 
 import biuoop.DrawSurface;
+import collections.DirtyRegions;
 import geometry.Rectangle;
-import interfaces.Sprite;
+import interfaces.RegionSprite;
 
 import java.awt.Color;
 
 /**
  * The Name indicator class.
  */
-public class NameIndicator implements Sprite {
+public class NameIndicator implements RegionSprite {
     private String name;
     private Rectangle rect;
     private int textSize;
     private double distance;
+    private boolean drawn;
 
     /**
      * The constructor of a new Name indicator.
@@ -39,6 +41,22 @@ public class NameIndicator implements Sprite {
                 (int) (this.rect.getUpperLeft().getY() + this.textSize), text, this.textSize);
     }
 
+    @Override
+    public void addChangedRegions(DirtyRegions regions, double alpha) {
+        // the name doesn't change, so the indicator changes only the first frame.
+        if (!this.drawn) {
+            regions.add((int) this.rect.getMinX() - 1, (int) this.rect.getMinY() - 1,
+                    (int) this.rect.getMaxX() + 2, (int) this.rect.getMaxY() + 2);
+            this.drawn = true;
+        }
+    }
+
+    @Override
+    public boolean overlaps(int minX, int minY, int maxX, int maxY) {
+        return this.rect.getMinX() - 1 < maxX && minX < this.rect.getMaxX() + 2
+                && this.rect.getMinY() - 1 < maxY && minY < this.rect.getMaxY() + 2;
+    }
+
     @Override
     public void timePassed() {
     }
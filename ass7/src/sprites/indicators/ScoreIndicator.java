@@ -1,22 +1,25 @@
 package sprites.indicators;
 
 import biuoop.DrawSurface;
+import collections.DirtyRegions;
 
 import geometry.Rectangle;
 import general.Counter;
-import interfaces.Sprite;
+import interfaces.RegionSprite;
 
 import java.awt.Color;
 
 /**
  * The Score indicator class.
  */
-public class ScoreIndicator implements Sprite {
+public class ScoreIndicator implements RegionSprite {
     private Counter score;
     private Rectangle rect;
     private Color color;
     private int textSize;
     private double distance;
+    private boolean drawn;
+    private int drawnScore;
 
     /**
      * The constructor of a new score indicator.
@@ -68,6 +71,23 @@ public class ScoreIndicator implements Sprite {
                 (int) this.rect.getWidth(), (int) this.rect.getHeight());
     }
 
+    @Override
+    public void addChangedRegions(DirtyRegions regions, double alpha) {
+        // the indicator is drawn again only when the score changed.
+        if (!this.drawn || this.drawnScore != this.score.getValue()) {
+            regions.add((int) this.rect.getMinX() - 1, (int) this.rect.getMinY() - 1,
+                    (int) this.rect.getMaxX() + 2, (int) this.rect.getMaxY() + 2);
+            this.drawn = true;
+            this.drawnScore = this.score.getValue();
+        }
+    }
+
+    @Override
+    public boolean overlaps(int minX, int minY, int maxX, int maxY) {
+        return this.rect.getMinX() - 1 < maxX && minX < this.rect.getMaxX() + 2
+                && this.rect.getMinY() - 1 < maxY && minY < this.rect.getMaxY() + 2;
+    }
+
     @Override
     public void timePassed() {
     }